@@ -0,0 +1,52 @@
+package com.app.coworking.cache;
+
+import com.app.coworking.dto.StoredResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Ограниченный по размеру (LRU) и по времени жизни кэш ответов по Idempotency-Key
+@Component
+public class IdempotencyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyCache.class);
+
+    private final long ttlMillis;
+    private final Map<String, CacheEntry> cache;
+
+    private record CacheEntry(StoredResponse response, long createdAt) {}
+
+    public IdempotencyCache(@Value("${idempotency.ttl:24h}") Duration ttl,
+                            @Value("${idempotency.cache-size:10000}") int maxCapacity) {
+        this.ttlMillis = ttl.toMillis();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxCapacity;
+            }
+        };
+        logger.info("IdempotencyCache initialized with max capacity: {}, ttl: {}",
+                maxCapacity, ttl);
+    }
+
+    public synchronized StoredResponse get(String key) {
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.createdAt() > ttlMillis) {
+            cache.remove(key);
+            logger.info("Idempotency key expired: {}", key);
+            return null;
+        }
+        return entry.response();
+    }
+
+    public synchronized void put(String key, StoredResponse response, long createdAt) {
+        cache.put(key, new CacheEntry(response, createdAt));
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.coworking.cache;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -75,6 +76,11 @@ public abstract class LfuCache<T> {
         logger.info("Removed key: {}", id);
     }
 
+    public synchronized void removeAll(Collection<Long> ids) {
+        ids.forEach(cache::remove);
+        logger.info("Removed {} keys", ids.size());
+    }
+
     public synchronized void clear() {
         cache.clear();
         logger.info("Cache cleared");
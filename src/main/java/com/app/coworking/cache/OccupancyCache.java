@@ -0,0 +1,69 @@
+package com.app.coworking.cache;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Посуточная занятость workspace коворкинга, по месяцам: (coworking, month) -> workspaceId -> booked[]
+@Component
+public class OccupancyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyCache.class);
+
+    private static final int MAX_COWORKINGS = 100;
+
+    private final Map<Long, Map<YearMonth, Map<Long, int[]>>> cache = new HashMap<>();
+
+    // Версии против гонки "промах -> расчет вне блокировки -> put": evict, пришедший
+    // во время расчета, помечает коворкинг более новой версией, и устаревший put
+    // отбрасывается. Карта не чистится вместе с кэшем, иначе версия откатилась бы назад
+    private long version;
+    private long clearedAt;
+    private final Map<Long, Long> invalidatedAt = new HashMap<>();
+
+    public synchronized Map<Long, int[]> get(Long coworkingId, YearMonth month) {
+        Map<YearMonth, Map<Long, int[]>> months = cache.get(coworkingId);
+        Map<Long, int[]> booked = months != null ? months.get(month) : null;
+        if (booked == null) {
+            logger.info("Occupancy cache miss for coworking: {}, month: {}", coworkingId, month);
+        }
+        return booked;
+    }
+
+    // Снимается до чтения из БД и передается в put
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized void put(Long coworkingId, YearMonth month, Map<Long, int[]> booked,
+                                 long readVersion) {
+        if (clearedAt > readVersion || invalidatedAt.getOrDefault(coworkingId, 0L) > readVersion) {
+            logger.info("Skipping stale occupancy for coworking: {}, month: {}",
+                    coworkingId, month);
+            return;
+        }
+        if (!cache.containsKey(coworkingId) && cache.size() >= MAX_COWORKINGS) {
+            logger.info("Occupancy cache is full, clearing");
+            cache.clear();
+        }
+        cache.computeIfAbsent(coworkingId, id -> new HashMap<>()).put(month, booked);
+    }
+
+    public synchronized void evict(Long coworkingId, YearMonth from, YearMonth to) {
+        invalidatedAt.put(coworkingId, ++version);
+        Map<YearMonth, Map<Long, int[]>> months = cache.get(coworkingId);
+        if (months != null) {
+            months.keySet().removeIf(month -> !month.isBefore(from) && !month.isAfter(to));
+            logger.info("Evicted occupancy for coworking: {}, months: {}..{}", coworkingId, from, to);
+        }
+    }
+
+    public synchronized void clear() {
+        clearedAt = ++version;
+        cache.clear();
+        logger.info("Occupancy cache cleared");
+    }
+}
@@ -2,10 +2,27 @@ package com.app.coworking.cache;
 
 import com.app.coworking.model.Reservation;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 public class ReservationCache extends LfuCache<Reservation> {
     public ReservationCache() {
         super(100);
     }
+
+    // В транзакции бронь попадает в кэш только после коммита: при откате (дубль ключа
+    // идемпотентности, сбой BEFORE_COMMIT-слушателя) в кэше не остается брони, которой нет в БД
+    public void putAfterCommit(Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(reservation.getId(), reservation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(reservation.getId(), reservation);
+            }
+        });
+    }
 }
@@ -0,0 +1,28 @@
+package com.app.coworking.config;
+
+import com.app.coworking.model.Workspace;
+import com.app.coworking.repository.SchemaJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+// Выполняется после того, как EntityManagerFactory (и ddl-auto) создал таблицы
+// и workspaces_seq: Workspace перешел с IDENTITY на пул из последовательности,
+// поэтому ее нужно выровнять по уже существующим id
+@Configuration
+@DependsOn("entityManagerFactory")
+public class SchemaConfig {
+
+    private final SchemaJdbcRepository schemaJdbcRepository;
+
+    public SchemaConfig(SchemaJdbcRepository schemaJdbcRepository) {
+        this.schemaJdbcRepository = schemaJdbcRepository;
+    }
+
+    @PostConstruct
+    public void prepareSchema() {
+        schemaJdbcRepository.alignSequenceWithTable("workspaces_seq", "workspaces",
+                Workspace.ID_ALLOCATION_SIZE);
+        schemaJdbcRepository.createSearchVectors();
+    }
+}
@@ -1,12 +1,28 @@
 package com.app.coworking.controller;
 
+import com.app.coworking.dto.CatalogCoworking;
+import com.app.coworking.dto.CoworkingSummary;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.OccupancyHeatmap;
 import com.app.coworking.model.Coworking;
+import com.app.coworking.service.AvailabilityStreamService;
+import com.app.coworking.service.CatalogService;
 import com.app.coworking.service.CoworkingService;
+import com.app.coworking.service.CoworkingSummaryService;
+import com.app.coworking.service.OccupancyService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +31,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/coworkings")
@@ -23,21 +41,78 @@ import org.springframework.web.bind.annotation.RestController;
 public class CoworkingController {
 
     private final CoworkingService coworkingService;
+    private final OccupancyService occupancyService;
+    private final AvailabilityStreamService availabilityStreamService;
+    private final CoworkingSummaryService coworkingSummaryService;
+    private final CatalogService catalogService;
 
     @Operation(summary = "Получить все коворкинги",
-            description = "Возвращает список всех коворкингов")
+            description = "Возвращает список всех коворкингов с рабочими местами из снимка "
+                    + "каталога (без бронирований)")
+    // тело отдается готовыми байтами, поэтому схему ответа задаем явно
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = CatalogCoworking.class))))
     @GetMapping
-    public ResponseEntity<List<Coworking>> getAll() {
-        List<Coworking> coworkings = coworkingService.getAllCoworkings();
-        return ResponseEntity.ok(coworkings);
+    public ResponseEntity<byte[]> getAll() {
+        return json(catalogService.getCoworkingsJson());
+    }
+
+    @Operation(summary = "Получить коворкинги постранично",
+            description = "Keyset-пагинация по id: передайте nextCursor из ответа, "
+                    + "чтобы получить следующую страницу")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<CatalogCoworking>> getPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(catalogService.getCoworkingsPage(cursor, size));
+    }
+
+    @Operation(summary = "Сводка по коворкингам",
+            description = "Для каждого коворкинга — число рабочих мест по типам и суммарная "
+                    + "вместимость; считается одним агрегатным запросом и кэшируется")
+    @GetMapping("/summary")
+    public ResponseEntity<List<CoworkingSummary>> getSummaries() {
+        return ResponseEntity.ok(coworkingSummaryService.getSummaries());
+    }
+
+    @Operation(summary = "Сводка по коворкингу",
+            description = "Число рабочих мест по типам и суммарная вместимость коворкинга")
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CoworkingSummary> getSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(coworkingSummaryService.getSummary(id));
     }
 
     @Operation(summary = "Получить коворкинг по ID",
             description = "Возвращает коворкинг по его уникальному идентификатору")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = CatalogCoworking.class)))
     @GetMapping("/{id}")
-    public ResponseEntity<Coworking> getById(@PathVariable Long id) {
-        Coworking coworking = coworkingService.getCoworkingById(id);
-        return ResponseEntity.ok(coworking);
+    public ResponseEntity<byte[]> getById(@PathVariable Long id) {
+        return json(catalogService.getCoworkingJson(id));
+    }
+
+    @Operation(summary = "Тепловая карта занятости коворкинга",
+            description = "Возвращает долю занятой вместимости каждого рабочего места по дням "
+                    + "за период (по умолчанию — текущий месяц, не длиннее 366 дней)")
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<OccupancyHeatmap> getOccupancy(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to) {
+        LocalDate start = from != null ? from : YearMonth.now().atDay(1);
+        LocalDate end = to != null ? to : YearMonth.from(start).atEndOfMonth();
+        return ResponseEntity.ok(occupancyService.getOccupancy(id, start, end));
+    }
+
+    @Operation(summary = "Подписаться на доступность рабочих мест",
+            description = "Server-Sent Events: сначала событие snapshot с доступностью всех "
+                    + "рабочих мест коворкинга на сегодня, затем availability при каждом "
+                    + "изменении бронирований, затрагивающем сегодняшний день")
+    @GetMapping(value = "/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@PathVariable Long id) {
+        return availabilityStreamService.subscribe(id);
     }
 
     @Operation(summary = "Создать новый коворкинг",
@@ -66,4 +141,12 @@ public class CoworkingController {
         coworkingService.deleteCoworking(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Байты уже сериализованы снимком каталога, Jackson на этом пути не вызывается
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
 }
@@ -0,0 +1,40 @@
+package com.app.coworking.controller;
+
+import com.app.coworking.dto.ImportEntity;
+import com.app.coworking.dto.ImportFormat;
+import com.app.coworking.dto.ImportReport;
+import com.app.coworking.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Импорт")
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportService importService;
+
+    @Operation(summary = "Массовый импорт",
+            description = "Потоковый импорт coworkings, workspaces или users из тела запроса "
+                    + "в формате CSV (первая строка — заголовок) или NDJSON. Некорректные и "
+                    + "конфликтующие строки пропускаются и перечисляются в отчете")
+    @PostMapping("/{entity}")
+    public ResponseEntity<ImportReport> importRows(
+            @PathVariable String entity,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        // тело читаем напрямую из запроса, без буферизации в @RequestBody
+        return ResponseEntity.ok(importService.importRows(ImportEntity.from(entity),
+                ImportFormat.from(format), request.getInputStream()));
+    }
+}
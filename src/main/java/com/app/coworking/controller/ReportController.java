@@ -0,0 +1,60 @@
+package com.app.coworking.controller;
+
+import com.app.coworking.dto.RollupRebuildResult;
+import com.app.coworking.dto.UtilizationRow;
+import com.app.coworking.service.OccupancyReportService;
+import com.app.coworking.service.OccupancyRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Отчеты")
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final OccupancyReportService occupancyReportService;
+    private final OccupancyRollupService occupancyRollupService;
+
+    @Operation(summary = "Загрузка по типам рабочих мест",
+            description = "Доля занятых место-дней за период по каждому типу рабочих мест; "
+                    + "без coworkingId — по всем коворкингам")
+    @GetMapping("/utilization/types")
+    public ResponseEntity<List<UtilizationRow>> getUtilizationByType(
+            @RequestParam(required = false) Long coworkingId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(
+                occupancyReportService.getUtilizationByType(coworkingId, from, to));
+    }
+
+    @Operation(summary = "Загрузка рабочих мест коворкинга",
+            description = "Доля занятых место-дней за период по каждому рабочему месту коворкинга")
+    @GetMapping("/utilization/coworkings/{coworkingId}/workspaces")
+    public ResponseEntity<List<UtilizationRow>> getUtilizationByWorkspace(
+            @PathVariable Long coworkingId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(
+                occupancyReportService.getUtilizationByWorkspace(coworkingId, from, to));
+    }
+
+    @Operation(summary = "Пересчитать свертку загрузки",
+            description = "Полностью пересчитывает daily_occupancy из бронирований и архива, "
+                    + "коворкинги обрабатываются параллельно")
+    @PostMapping("/occupancy/rebuild")
+    public ResponseEntity<RollupRebuildResult> rebuild() {
+        return ResponseEntity.ok(occupancyRollupService.rebuild());
+    }
+}
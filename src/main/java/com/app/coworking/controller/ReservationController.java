@@ -1,12 +1,37 @@
 package com.app.coworking.controller;
 
+import com.app.coworking.dto.ArchivedReservation;
+import com.app.coworking.dto.BatchReservationItem;
+import com.app.coworking.dto.BatchReservationResult;
+import com.app.coworking.dto.BulkCancelRequest;
+import com.app.coworking.dto.BulkCancelResult;
+import com.app.coworking.dto.ExportFormat;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.RecurringReservationRequest;
+import com.app.coworking.dto.RecurringReservationResult;
+import com.app.coworking.dto.ReservationFilter;
+import com.app.coworking.dto.StoredResponse;
+import com.app.coworking.dto.UserReservationView;
 import com.app.coworking.model.Reservation;
+import com.app.coworking.service.BatchReservationService;
+import com.app.coworking.service.BulkCancellationService;
+import com.app.coworking.service.GroupCommitReservationService;
+import com.app.coworking.service.IdempotencyService;
+import com.app.coworking.service.RecurringReservationService;
+import com.app.coworking.service.ReservationArchiveService;
+import com.app.coworking.service.ReservationExportService;
+import com.app.coworking.service.ReservationHoldService;
 import com.app.coworking.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +39,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -24,6 +51,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final BatchReservationService batchReservationService;
+    private final RecurringReservationService recurringReservationService;
+    private final ReservationHoldService reservationHoldService;
+    private final IdempotencyService idempotencyService;
+    private final ReservationArchiveService reservationArchiveService;
+    private final ReservationExportService reservationExportService;
+    private final BulkCancellationService bulkCancellationService;
+    private final GroupCommitReservationService groupCommitReservationService;
 
     @Operation(summary = "Получить все бронирования",
             description = "Возвращает список всех бронирований")
@@ -33,6 +68,49 @@ public class ReservationController {
         return ResponseEntity.ok(reservations);
     }
 
+    @Operation(summary = "Получить бронирования постранично",
+            description = "Keyset-пагинация по (дата начала, id) с фильтрами по рабочему месту, "
+                    + "коворкингу, пользователю и интервалу дат")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Reservation>> getPage(
+            @RequestParam(required = false) Long workspaceId,
+            @RequestParam(required = false) Long coworkingId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ReservationFilter filter = new ReservationFilter(workspaceId, coworkingId, userId,
+                from, to);
+        return ResponseEntity.ok(reservationService.getReservationsPage(filter, cursor, size));
+    }
+
+    @Operation(summary = "Выгрузить бронирования",
+            description = "Потоковая выгрузка всех бронирований в формате NDJSON или CSV, "
+                    + "при gzip=true — сжатая; from/to отбирают брони, пересекающие интервал")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        reservationExportService.validateRange(from, to);
+        String fileName = "reservations." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out ->
+                reservationExportService.export(from, to, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(
+                        gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
     @Operation(summary = "Получить бронирование по ID",
             description = "Возвращает бронирование по его уникальному идентификатору")
     @GetMapping("/{id}")
@@ -47,11 +125,85 @@ public class ReservationController {
     public ResponseEntity<Reservation> create(@PathVariable Long workspaceId,
                                               @PathVariable Long userId,
                                               @Valid @RequestBody Reservation reservation) {
-        Reservation created = reservationService.createReservation(
+        Reservation created = groupCommitReservationService.createReservation(
                 workspaceId, userId, reservation);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @Operation(summary = "Создать бронирование с ключом идемпотентности",
+            description = "Повторный запрос с тем же заголовком Idempotency-Key возвращает "
+                    + "исходный ответ и не создает дубликат")
+    @PostMapping(value = "/workspace/{workspaceId}/user/{userId}", headers = "Idempotency-Key")
+    public ResponseEntity<byte[]> createIdempotent(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @PathVariable Long workspaceId,
+            @PathVariable Long userId,
+            @Valid @RequestBody Reservation reservation) {
+        StoredResponse response = idempotencyService.createReservation(
+                idempotencyKey, workspaceId, userId, reservation);
+        return ResponseEntity.status(response.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
+
+    @Operation(summary = "Временно удержать рабочее место",
+            description = "Создает бронь со статусом HOLD, которая занимает место на время "
+                    + "оформления и автоматически удаляется, если ее не подтвердить")
+    @PostMapping("/hold/workspace/{workspaceId}/user/{userId}")
+    public ResponseEntity<Reservation> createHold(@PathVariable Long workspaceId,
+                                                  @PathVariable Long userId,
+                                                  @Valid @RequestBody Reservation reservation) {
+        Reservation created = reservationHoldService.createHold(workspaceId, userId, reservation);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @Operation(summary = "Подтвердить удержание",
+            description = "Переводит бронь из HOLD в CONFIRMED, пока удержание не истекло")
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<Reservation> confirmHold(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationHoldService.confirmHold(id));
+    }
+
+    @Operation(summary = "Пакетное бронирование нескольких рабочих мест",
+            description = "Атомарно создает бронирования пользователя в нескольких workspace. "
+                    + "Если хотя бы один элемент не проходит проверку, ничего не сохраняется; "
+                    + "в ответе возвращается результат по каждому элементу")
+    @PostMapping("/batch/user/{userId}")
+    public ResponseEntity<List<BatchReservationResult>> createBatch(
+            @PathVariable Long userId,
+            @Valid @RequestBody List<BatchReservationItem> items) {
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(userId, items);
+        boolean created = results.stream()
+                .allMatch(result -> result.status() == BatchReservationResult.Status.CREATED);
+        return ResponseEntity.status(created ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(results);
+    }
+
+    @Operation(summary = "Создать повторяющееся бронирование",
+            description = "Разворачивает правило повторения (ежедневно/еженедельно) в вхождения, "
+                    + "проверяет их одним проходом и сохраняет все свободные одним пакетом. "
+                    + "Конфликты возвращаются по каждому вхождению")
+    @PostMapping("/recurring/workspace/{workspaceId}/user/{userId}")
+    public ResponseEntity<RecurringReservationResult> createRecurring(
+            @PathVariable Long workspaceId,
+            @PathVariable Long userId,
+            @Valid @RequestBody RecurringReservationRequest request) {
+        RecurringReservationResult result = recurringReservationService
+                .createRecurringReservation(workspaceId, userId, request);
+        return ResponseEntity.status(result.created() > 0 ? HttpStatus.CREATED
+                : HttpStatus.BAD_REQUEST).body(result);
+    }
+
+    @Operation(summary = "Массово отменить бронирования",
+            description = "Удаляет все бронирования рабочего места, коворкинга и/или "
+                    + "интервала дат одной операцией; без from отменяются брони, "
+                    + "действующие с сегодняшнего дня")
+    @PostMapping("/cancel")
+    public ResponseEntity<BulkCancelResult> cancelBulk(@RequestBody BulkCancelRequest request) {
+        return ResponseEntity.ok(bulkCancellationService.cancelReservations(request));
+    }
+
     @Operation(summary = "Обновить бронирование",
             description = "Обновляет данные бронирования по его ID")
     @PutMapping("/{id}")
@@ -69,10 +221,35 @@ public class ReservationController {
     }
 
     @Operation(summary = "Получить бронирования пользователя по email",
-            description = "Возвращает все бронирования пользователя с указанным email")
+            description = "Возвращает все бронирования пользователя с указанным email "
+                    + "вместе с названиями рабочего места и коворкинга")
     @GetMapping("/user")
-    public ResponseEntity<List<Reservation>> getByUserEmail(@RequestParam String email) {
-        List<Reservation> reservations = reservationService.getReservationsByUserEmail(email);
+    public ResponseEntity<List<UserReservationView>> getByUserEmail(@RequestParam String email) {
+        List<UserReservationView> reservations =
+                reservationService.getReservationsByUserEmail(email);
         return ResponseEntity.ok(reservations);
     }
+
+    @Operation(summary = "Получить архивные бронирования пользователя",
+            description = "Возвращает завершенные бронирования, перенесенные в архив, "
+                    + "с датой окончания в указанном интервале")
+    @GetMapping("/archive/user/{userId}")
+    public ResponseEntity<List<ArchivedReservation>> getArchivedByUser(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reservationArchiveService.getArchivedByUser(userId, from, to));
+    }
+
+    @Operation(summary = "Получить архивные бронирования рабочего места",
+            description = "Возвращает завершенные бронирования рабочего места из архива "
+                    + "с датой окончания в указанном интервале")
+    @GetMapping("/archive/workspace/{workspaceId}")
+    public ResponseEntity<List<ArchivedReservation>> getArchivedByWorkspace(
+            @PathVariable Long workspaceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(
+                reservationArchiveService.getArchivedByWorkspace(workspaceId, from, to));
+    }
 }
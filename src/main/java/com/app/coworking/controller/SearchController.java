@@ -0,0 +1,34 @@
+package com.app.coworking.controller;
+
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.SearchHit;
+import com.app.coworking.service.CatalogSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Поиск")
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final CatalogSearchService catalogSearchService;
+
+    @Operation(summary = "Полнотекстовый поиск по коворкингам и рабочим местам",
+            description = "Ищет по названиям, адресам и описаниям; результаты упорядочены "
+                    + "по релевантности. Поддерживает \"фразы\", -исключения и or. "
+                    + "Передайте nextCursor из ответа, чтобы получить следующую страницу")
+    @GetMapping
+    public ResponseEntity<KeysetPage<SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(catalogSearchService.search(q, cursor, size));
+    }
+}
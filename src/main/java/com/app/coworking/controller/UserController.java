@@ -1,5 +1,7 @@
 package com.app.coworking.controller;
 
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.UserView;
 import com.app.coworking.model.User;
 import com.app.coworking.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -33,6 +36,16 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @Operation(summary = "Получить пользователей постранично",
+            description = "Keyset-пагинация по id: передайте nextCursor из ответа, "
+                    + "чтобы получить следующую страницу")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<UserView>> getPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.getUsersPage(cursor, size));
+    }
+
     @Operation(summary = "Получить пользователя по ID",
             description = "Возвращает пользователя по его уникальному ID")
     @GetMapping("/{id}")
@@ -0,0 +1,59 @@
+package com.app.coworking.controller;
+
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.WaitlistEntry;
+import com.app.coworking.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Лист ожидания")
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @Operation(summary = "Встать в лист ожидания",
+            description = "Принимает то же тело, что и создание бронирования. Когда место "
+                    + "освобождается, бронь создается автоматически в порядке очереди")
+    @PostMapping("/workspace/{workspaceId}/user/{userId}")
+    public ResponseEntity<WaitlistEntry> enqueue(@PathVariable Long workspaceId,
+                                                 @PathVariable Long userId,
+                                                 @Valid @RequestBody Reservation request) {
+        WaitlistEntry entry = waitlistService.enqueue(workspaceId, userId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+    }
+
+    @Operation(summary = "Получить запись листа ожидания по ID",
+            description = "Показывает статус записи и id созданной брони после продвижения")
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntry> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.getEntryById(id));
+    }
+
+    @Operation(summary = "Получить записи листа ожидания пользователя")
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<WaitlistEntry>> getByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(waitlistService.getEntriesByUserId(userId));
+    }
+
+    @Operation(summary = "Выйти из листа ожидания", description = "Удаляет запись по ее ID")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        waitlistService.deleteEntry(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,27 @@
 package com.app.coworking.controller;
 
 
+import com.app.coworking.dto.FreeSlot;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.WorkspaceFilter;
+import com.app.coworking.dto.WorkspaceView;
 import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.service.CatalogService;
+import com.app.coworking.service.FreeSlotService;
 import com.app.coworking.service.WorkspaceService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +30,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -25,21 +40,69 @@ import org.springframework.web.bind.annotation.RestController;
 public class WorkspaceController {
 
     private final WorkspaceService workspaceService;
+    private final FreeSlotService freeSlotService;
+    private final CatalogService catalogService;
 
     @Operation(summary = "Получить все рабочие места",
-            description = "Возвращает список всех рабочих мест")
+            description = "Возвращает список всех рабочих мест из снимка каталога "
+                    + "(без бронирований)")
+    // тело отдается готовыми байтами, поэтому схему ответа задаем явно
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = WorkspaceView.class))))
     @GetMapping
-    public ResponseEntity<List<Workspace>> getAll() {
-        List<Workspace> workspaces = workspaceService.getAllWorkspaces();
-        return ResponseEntity.ok(workspaces);
+    public ResponseEntity<byte[]> getAll() {
+        return json(catalogService.getWorkspacesJson());
+    }
+
+    @Operation(summary = "Получить рабочие места постранично",
+            description = "Keyset-пагинация по id с необязательным фильтром по коворкингу: "
+                    + "передайте nextCursor из ответа, чтобы получить следующую страницу")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<WorkspaceView>> getPage(
+            @RequestParam(required = false) Long coworkingId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(catalogService.getWorkspacesPage(coworkingId, cursor, size));
+    }
+
+    @Operation(summary = "Поиск рабочих мест",
+            description = "Фильтры по типу, вместимости, коворкингу и началу имени "
+                    + "(без учета регистра), keyset-пагинация по id. Возвращает облегченную "
+                    + "проекцию без бронирований")
+    @GetMapping("/search")
+    public ResponseEntity<KeysetPage<WorkspaceView>> search(
+            @RequestParam(required = false) Long coworkingId,
+            @RequestParam(required = false) WorkspaceType type,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        WorkspaceFilter filter = new WorkspaceFilter(coworkingId, type, minCapacity,
+                maxCapacity, namePrefix);
+        return ResponseEntity.ok(catalogService.searchWorkspaces(filter, cursor, size));
     }
 
     @Operation(summary = "Получить рабочее место по ID",
             description = "Возвращает рабочее место по его уникальному идентификатору")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = WorkspaceView.class)))
     @GetMapping("/{id}")
-    public ResponseEntity<Workspace> getById(@PathVariable Long id) {
-        Workspace workspace = workspaceService.getWorkspaceById(id);
-        return ResponseEntity.ok(workspace);
+    public ResponseEntity<byte[]> getById(@PathVariable Long id) {
+        return json(catalogService.getWorkspaceJson(id));
+    }
+
+    @Operation(summary = "Найти ближайшие свободные окна",
+            description = "Возвращает до count самых ранних окон длиной days дней, начиная с "
+                    + "from (по умолчанию сегодня). Для open space учитывается вместимость")
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam int days,
+            @RequestParam(required = false) Integer count) {
+        return ResponseEntity.ok(freeSlotService.findFreeSlots(id, from, days, count));
     }
 
     @Operation(summary = "Создать рабочее место в коворкинге",
@@ -80,4 +143,12 @@ public class WorkspaceController {
                 .createWorkspacesBulk(coworkingId, workspaces);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdWorkspaces);
     }
+
+    // Content-Length известен заранее — ответ уходит одним буфером без chunked-кодирования
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
 }
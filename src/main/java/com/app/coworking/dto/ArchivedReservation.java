@@ -0,0 +1,13 @@
+package com.app.coworking.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record ArchivedReservation(Long id,
+                                  Long workspaceId,
+                                  Long userId,
+                                  LocalDate startDate,
+                                  LocalDate endDate,
+                                  String comment,
+                                  Instant archivedAt) {
+}
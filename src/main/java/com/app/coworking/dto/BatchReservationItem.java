@@ -0,0 +1,21 @@
+package com.app.coworking.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public record BatchReservationItem(
+        @NotNull(message = "Workspace id is required")
+        Long workspaceId,
+
+        @NotNull(message = "Start date is required")
+        @FutureOrPresent(message = "Start date cannot be in the past")
+        LocalDate startDate,
+
+        @NotNull(message = "End date is required")
+        @Future(message = "End date must be in the future")
+        LocalDate endDate,
+
+        String comment
+) {}
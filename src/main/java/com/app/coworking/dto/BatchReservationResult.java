@@ -0,0 +1,19 @@
+package com.app.coworking.dto;
+
+import java.time.LocalDate;
+
+public record BatchReservationResult(
+        int index,
+        Long workspaceId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Status status,
+        Long reservationId,
+        String error
+) {
+    public enum Status {
+        CREATED,
+        REJECTED,   // элемент не прошел проверку
+        SKIPPED     // элемент корректен, но пакет отклонен целиком
+    }
+}
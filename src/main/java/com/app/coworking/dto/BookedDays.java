@@ -0,0 +1,4 @@
+package com.app.coworking.dto;
+
+public record BookedDays(Long workspaceId, Long bookedDays) {
+}
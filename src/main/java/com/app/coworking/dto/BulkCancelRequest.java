@@ -0,0 +1,10 @@
+package com.app.coworking.dto;
+
+import java.time.LocalDate;
+
+// Отменяются брони, пересекающие [from, to]; from по умолчанию — сегодня, to — без границы
+public record BulkCancelRequest(Long workspaceId,
+                                Long coworkingId,
+                                LocalDate from,
+                                LocalDate to) {
+}
@@ -0,0 +1,6 @@
+package com.app.coworking.dto;
+
+import java.util.List;
+
+public record BulkCancelResult(int cancelled, List<Long> reservationIds) {
+}
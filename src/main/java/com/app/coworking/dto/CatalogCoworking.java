@@ -0,0 +1,14 @@
+package com.app.coworking.dto;
+
+import java.util.List;
+
+// Коворкинг из снимка каталога: поля как у сущности, рабочие места без бронирований
+public record CatalogCoworking(Long id, String name, String address, String email,
+                               String phoneNumber, String description,
+                               List<WorkspaceView> workspaces) {
+
+    public static CatalogCoworking of(CoworkingView view, List<WorkspaceView> workspaces) {
+        return new CatalogCoworking(view.id(), view.name(), view.address(), view.email(),
+                view.phoneNumber(), view.description(), workspaces);
+    }
+}
@@ -0,0 +1,8 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+import java.util.Map;
+
+public record CoworkingSummary(Long id, String name, String address, long workspaceCount,
+                               long totalCapacity, Map<WorkspaceType, Long> workspacesByType) {
+}
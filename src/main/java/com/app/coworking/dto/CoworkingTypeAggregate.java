@@ -0,0 +1,8 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+
+// Строка GROUP BY coworking, type; у коворкинга без рабочих мест одна строка с type = null
+public record CoworkingTypeAggregate(Long coworkingId, String name, String address,
+                                     WorkspaceType type, Long workspaces, Long capacity) {
+}
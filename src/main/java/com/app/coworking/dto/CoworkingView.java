@@ -0,0 +1,6 @@
+package com.app.coworking.dto;
+
+// Плоская проекция коворкинга без коллекций
+public record CoworkingView(Long id, String name, String address, String email,
+                            String phoneNumber, String description) {
+}
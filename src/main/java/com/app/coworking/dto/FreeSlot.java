@@ -0,0 +1,8 @@
+package com.app.coworking.dto;
+
+import java.time.LocalDate;
+
+// Свободное окно: [startDate, endDate] нужной длины; freeUntil — конец последнего окна,
+// до которого его можно сдвинуть без отказа при бронировании, null если дальше броней нет
+public record FreeSlot(LocalDate startDate, LocalDate endDate, LocalDate freeUntil) {
+}
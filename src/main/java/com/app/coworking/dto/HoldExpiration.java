@@ -0,0 +1,5 @@
+package com.app.coworking.dto;
+
+import java.time.Instant;
+
+public record HoldExpiration(Long reservationId, Instant expiresAt) {}
@@ -0,0 +1,36 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.exception.InvalidArgumentException;
+import java.util.List;
+import java.util.Locale;
+
+// Что можно импортировать и в каком порядке колонки лежат в staging-таблице
+public enum ImportEntity {
+    COWORKINGS("coworkings", List.of("name", "address", "email", "phone_number", "description")),
+    WORKSPACES("workspaces", List.of("coworking_id", "name", "type", "capacity", "description")),
+    USERS("users", List.of("email", "password", "first_name", "last_name", "role"));
+
+    private final String table;
+    private final List<String> columns;
+
+    ImportEntity(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public static ImportEntity from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException("Unsupported import entity: " + value);
+        }
+    }
+}
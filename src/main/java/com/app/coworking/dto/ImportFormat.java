@@ -0,0 +1,17 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.exception.InvalidArgumentException;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException("Unsupported import format: " + value);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.app.coworking.dto;
+
+import java.util.List;
+
+// errors ограничен import.max-reported-errors; rejected — полное число отклоненных строк
+public record ImportReport(String entity, long rows, long imported, long rejected,
+                           List<ImportRowError> errors, boolean errorsTruncated) {
+}
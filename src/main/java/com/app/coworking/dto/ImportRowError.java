@@ -0,0 +1,5 @@
+package com.app.coworking.dto;
+
+// row — номер строки данных в загруженном файле, начиная с 1 (заголовок CSV не считается)
+public record ImportRowError(long row, String message) {
+}
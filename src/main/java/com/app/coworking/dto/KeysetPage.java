@@ -0,0 +1,7 @@
+package com.app.coworking.dto;
+
+import java.util.List;
+
+// nextCursor == null — последняя страница
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,16 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+import java.time.LocalDate;
+import java.util.List;
+
+// occupancy[i] — доля занятой вместимости в день from + i
+public record OccupancyHeatmap(
+        Long coworkingId,
+        LocalDate from,
+        LocalDate to,
+        List<WorkspaceOccupancy> workspaces
+) {
+    public record WorkspaceOccupancy(Long workspaceId, String name, WorkspaceType type,
+                                     Integer capacity, double[] occupancy) {}
+}
@@ -0,0 +1,11 @@
+package com.app.coworking.dto;
+
+import java.time.Instant;
+
+// id монотонно растет и служит ключом дедупликации у получателя (доставка at-least-once)
+public record OutboxMessage(Long id,
+                            Long workspaceId,
+                            String eventType,
+                            String payload,
+                            Instant createdAt) {
+}
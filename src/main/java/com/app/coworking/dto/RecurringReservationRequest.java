@@ -0,0 +1,28 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.RecurrenceFrequency;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+// startDate/endDate задают первое вхождение, остальные сдвигаются на interval дней/недель
+public record RecurringReservationRequest(
+        @NotNull(message = "Start date is required")
+        @FutureOrPresent(message = "Start date cannot be in the past")
+        LocalDate startDate,
+
+        @NotNull(message = "End date is required")
+        LocalDate endDate,
+
+        @NotNull(message = "Frequency is required")
+        RecurrenceFrequency frequency,
+
+        @Min(value = 1, message = "Interval must be at least 1")
+        Integer interval,
+
+        @NotNull(message = "Until date is required")
+        LocalDate untilDate,
+
+        String comment
+) {}
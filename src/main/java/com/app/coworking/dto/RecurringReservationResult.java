@@ -0,0 +1,14 @@
+package com.app.coworking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RecurringReservationResult(
+        Long recurrenceId,
+        int requested,
+        int created,
+        List<Occurrence> occurrences
+) {
+    public record Occurrence(LocalDate startDate, LocalDate endDate,
+                             Long reservationId, String error) {}
+}
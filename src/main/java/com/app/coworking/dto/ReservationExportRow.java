@@ -0,0 +1,15 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.ReservationStatus;
+import java.time.LocalDate;
+
+public record ReservationExportRow(Long id,
+                                   Long workspaceId,
+                                   Long coworkingId,
+                                   Long userId,
+                                   String userEmail,
+                                   LocalDate startDate,
+                                   LocalDate endDate,
+                                   ReservationStatus status,
+                                   String comment) {
+}
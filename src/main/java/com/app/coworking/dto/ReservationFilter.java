@@ -0,0 +1,11 @@
+package com.app.coworking.dto;
+
+import java.time.LocalDate;
+
+// Все поля необязательны; from/to отбирают брони, пересекающие интервал
+public record ReservationFilter(Long workspaceId,
+                                Long coworkingId,
+                                Long userId,
+                                LocalDate from,
+                                LocalDate to) {
+}
@@ -0,0 +1,10 @@
+package com.app.coworking.dto;
+
+import java.time.LocalDate;
+
+public record ReservedRange(Long workspaceId, LocalDate startDate, LocalDate endDate) {
+
+    public boolean overlaps(LocalDate start, LocalDate end) {
+        return !startDate.isAfter(end) && !endDate.isBefore(start);
+    }
+}
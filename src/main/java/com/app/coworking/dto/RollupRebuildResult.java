@@ -0,0 +1,4 @@
+package com.app.coworking.dto;
+
+public record RollupRebuildResult(int coworkings, int rows) {
+}
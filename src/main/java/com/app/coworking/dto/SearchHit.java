@@ -0,0 +1,10 @@
+package com.app.coworking.dto;
+
+// Результат полнотекстового поиска; для коворкинга coworkingId совпадает с id
+public record SearchHit(Kind kind, Long id, Long coworkingId, String name, float rank) {
+
+    public enum Kind {
+        COWORKING,
+        WORKSPACE
+    }
+}
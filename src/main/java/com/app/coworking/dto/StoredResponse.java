@@ -0,0 +1,4 @@
+package com.app.coworking.dto;
+
+// Готовый к повторной отправке ответ: код и сериализованное тело
+public record StoredResponse(String requestHash, int status, byte[] body) {}
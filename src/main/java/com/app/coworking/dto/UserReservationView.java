@@ -0,0 +1,19 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.model.enums.WorkspaceType;
+import java.time.LocalDate;
+
+// Плоская строка "мои бронирования". У пользователя без броней запрос возвращает одну
+// строку с reservationId == null — по ней отличаем его от несуществующего пользователя
+public record UserReservationView(Long reservationId,
+                                  LocalDate startDate,
+                                  LocalDate endDate,
+                                  ReservationStatus status,
+                                  String comment,
+                                  Long workspaceId,
+                                  String workspaceName,
+                                  WorkspaceType workspaceType,
+                                  Long coworkingId,
+                                  String coworkingName) {
+}
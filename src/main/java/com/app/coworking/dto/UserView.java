@@ -0,0 +1,7 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.Role;
+
+// Плоская проекция пользователя: без пароля и без коллекции бронирований
+public record UserView(Long id, String email, String firstName, String lastName, Role role) {
+}
@@ -0,0 +1,9 @@
+package com.app.coworking.dto;
+
+// id заполнен для строк по рабочим местам; для группировки по типу — null
+public record UtilizationRow(Long id,
+                             String name,
+                             long bookedDays,
+                             long capacityDays,
+                             double utilization) {
+}
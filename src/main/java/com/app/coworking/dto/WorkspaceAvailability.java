@@ -0,0 +1,20 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+
+// Доступность рабочего места на день: free — сколько еще можно забронировать
+public record WorkspaceAvailability(Long workspaceId,
+                                    Long coworkingId,
+                                    String name,
+                                    WorkspaceType type,
+                                    int capacity,
+                                    int booked,
+                                    int free) {
+
+    // для JPQL-проекции: вместимость open space — capacity, остальных — 1
+    public WorkspaceAvailability(Long workspaceId, Long coworkingId, String name,
+                                 WorkspaceType type, Integer capacity, Integer booked) {
+        this(workspaceId, coworkingId, name, type, capacity, booked,
+                Math.max(0, (type == WorkspaceType.OPEN_SPACE ? capacity : 1) - booked));
+    }
+}
@@ -0,0 +1,5 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+
+public record WorkspaceCapacity(Long id, String name, WorkspaceType type, Integer capacity) {}
@@ -0,0 +1,11 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+
+// Все поля необязательны; namePrefix сравнивается без учета регистра
+public record WorkspaceFilter(Long coworkingId,
+                              WorkspaceType type,
+                              Integer minCapacity,
+                              Integer maxCapacity,
+                              String namePrefix) {
+}
@@ -0,0 +1,8 @@
+package com.app.coworking.dto;
+
+import com.app.coworking.model.enums.WorkspaceType;
+
+// Плоская проекция для поиска: без reservations и без прокси коворкинга
+public record WorkspaceView(Long id, Long coworkingId, String name, WorkspaceType type,
+                            Integer capacity, String description) {
+}
@@ -0,0 +1,22 @@
+package com.app.coworking.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Изменение справочника коворкингов и рабочих мест. Публикуется в транзакции записи;
+// full = true — затронуто неизвестное множество строк (массовый импорт), перечитать все
+public record CatalogChangedEvent(Set<Long> coworkingIds, Set<Long> workspaceIds,
+                                  boolean full) {
+
+    public static CatalogChangedEvent coworking(Long coworkingId) {
+        return new CatalogChangedEvent(Set.of(coworkingId), Set.of(), false);
+    }
+
+    public static CatalogChangedEvent workspaces(Long coworkingId, Collection<Long> workspaceIds) {
+        return new CatalogChangedEvent(Set.of(coworkingId), Set.copyOf(workspaceIds), false);
+    }
+
+    public static CatalogChangedEvent everything() {
+        return new CatalogChangedEvent(Set.of(), Set.of(), true);
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.coworking.event;
+
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.ReservationStatus;
+import java.time.LocalDate;
+
+// Изменение одной брони; previous* заполнены только для UPDATED.
+// status отличает временное удержание (HOLD) от брони: подтверждение удержания — UPDATED
+// с теми же датами и статусом CONFIRMED
+public record ReservationChange(
+        Type type,
+        Long reservationId,
+        Long userId,
+        Long workspaceId,
+        Long coworkingId,
+        LocalDate startDate,
+        LocalDate endDate,
+        ReservationStatus status,
+        LocalDate previousStartDate,
+        LocalDate previousEndDate
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ReservationChange created(Reservation reservation) {
+        return of(Type.CREATED, reservation, null, null);
+    }
+
+    public static ReservationChange updated(Reservation reservation,
+                                            LocalDate previousStartDate,
+                                            LocalDate previousEndDate) {
+        return of(Type.UPDATED, reservation, previousStartDate, previousEndDate);
+    }
+
+    public static ReservationChange confirmed(Reservation reservation) {
+        return of(Type.UPDATED, reservation, reservation.getStartDate(), reservation.getEndDate());
+    }
+
+    public static ReservationChange deleted(Reservation reservation) {
+        return of(Type.DELETED, reservation, null, null);
+    }
+
+    // Для прокси getId() не инициализирует связанные сущности
+    private static ReservationChange of(Type type, Reservation reservation,
+                                        LocalDate previousStartDate,
+                                        LocalDate previousEndDate) {
+        Workspace workspace = reservation.getWorkspace();
+        Long workspaceId = workspace != null ? workspace.getId() : null;
+        Long coworkingId = workspace != null && workspace.getCoworking() != null
+                ? workspace.getCoworking().getId() : null;
+        Long userId = reservation.getUser() != null ? reservation.getUser().getId() : null;
+        return new ReservationChange(type, reservation.getId(), userId, workspaceId, coworkingId,
+                reservation.getStartDate(), reservation.getEndDate(), reservation.getStatus(),
+                previousStartDate, previousEndDate);
+    }
+
+    // Затрагивает ли изменение (текущий или прежний диапазон) указанный период
+    public boolean touches(LocalDate from, LocalDate to) {
+        return overlaps(startDate, endDate, from, to)
+                || overlaps(previousStartDate, previousEndDate, from, to);
+    }
+
+    private static boolean overlaps(LocalDate start, LocalDate end, LocalDate from, LocalDate to) {
+        return start != null && end != null && !start.isAfter(to) && !end.isBefore(from);
+    }
+}
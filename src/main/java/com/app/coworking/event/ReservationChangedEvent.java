@@ -0,0 +1,11 @@
+package com.app.coworking.event;
+
+import java.util.List;
+
+// Публикуется один раз на транзакцию записи; пакетные операции кладут все изменения в одно событие
+public record ReservationChangedEvent(List<ReservationChange> changes) {
+
+    public static ReservationChangedEvent of(ReservationChange change) {
+        return new ReservationChangedEvent(List.of(change));
+    }
+}
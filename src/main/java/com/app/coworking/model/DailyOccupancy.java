@@ -0,0 +1,42 @@
+package com.app.coworking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Число броней рабочего места на день. Поддерживается инкрементально
+// (OccupancyRollupService), отчеты читают только эту таблицу
+@Entity
+@Table(name = "daily_occupancy", indexes = {
+    @Index(name = "idx_daily_occupancy_day", columnList = "day")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOccupancy {
+
+    @EmbeddedId
+    private DailyOccupancyId id;
+
+    @MapsId("workspaceId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "workspace_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Workspace workspace;
+
+    @Column(nullable = false)
+    private int booked;
+}
@@ -0,0 +1,26 @@
+package com.app.coworking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DailyOccupancyId implements Serializable {
+
+    @Column(name = "workspace_id")
+    private Long workspaceId;
+
+    @Column(name = "day")
+    private LocalDate day;
+}
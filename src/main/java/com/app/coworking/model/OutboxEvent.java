@@ -0,0 +1,48 @@
+package com.app.coworking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Событие для внешних систем. Пишется в транзакции изменения брони,
+// отправляется ретранслятором (OutboxRelay); published_at == null — еще не отправлено
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_unpublished", columnList = "published_at, id"),
+    // проверка более старого неотправленного события того же рабочего места при захвате
+    @Index(name = "idx_outbox_workspace_id", columnList = "workspace_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "workspace_id")
+    private Long workspaceId;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
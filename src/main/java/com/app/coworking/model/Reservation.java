@@ -1,26 +1,38 @@
 package com.app.coworking.model;
 
+import com.app.coworking.model.enums.ReservationStatus;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "reservations")
+// индекс под keyset-пагинацию по (start_date, id)
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservations_start_date_id", columnList = "start_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -54,4 +66,21 @@ public class Reservation {
     @Column(columnDefinition = "TEXT")
     private String comment;
 
+    // HOLD занимает место так же, как подтвержденная бронь, пока не истечет
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(16) default 'CONFIRMED'")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private ReservationStatus status = ReservationStatus.CONFIRMED;
+
+    @Column(name = "hold_expires_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant holdExpiresAt;
+
+    // заполнено только у броней, созданных из правила повторения
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recurring_reservation_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JsonIgnore
+    private RecurringReservation recurrence;
+
 }
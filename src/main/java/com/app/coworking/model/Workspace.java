@@ -12,9 +12,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -28,15 +30,25 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "workspaces")
+// id в конце индекса: выборки по коворкингу идут ORDER BY id и читают его без сортировки,
+// тот же индекс обслуживает EXISTS-проверку перед удалением коворкинга
+@Table(name = "workspaces", indexes = {
+    @Index(name = "idx_workspaces_coworking_id", columnList = "coworking_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Workspace {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Пул из 50 id на одно обращение к последовательности: без этого IDENTITY
+    // не дает Hibernate объединять INSERT в JDBC batch при массовом создании
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspaces_seq")
+    @SequenceGenerator(name = "workspaces_seq", sequenceName = "workspaces_seq",
+            allocationSize = Workspace.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Workspace name is required")
@@ -0,0 +1,6 @@
+package com.app.coworking.model.enums;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY
+}
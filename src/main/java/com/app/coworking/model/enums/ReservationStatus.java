@@ -0,0 +1,6 @@
+package com.app.coworking.model.enums;
+
+public enum ReservationStatus {
+    CONFIRMED,
+    HOLD        // временное удержание на время оформления, истекает автоматически
+}
@@ -0,0 +1,7 @@
+package com.app.coworking.model.enums;
+
+public enum WaitlistStatus {
+    WAITING,     // ждет освобождения места
+    PROMOTED,    // бронь создана автоматически
+    EXPIRED      // дата начала прошла, бронь уже не нужна
+}
@@ -0,0 +1,28 @@
+package com.app.coworking.outbox;
+
+import com.app.coworking.dto.OutboxMessage;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Для тестов и локальной разработки: хранит отправленные события в памяти
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        published.addAll(messages);
+    }
+
+    public synchronized List<OutboxMessage> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
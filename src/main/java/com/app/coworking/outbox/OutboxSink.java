@@ -0,0 +1,11 @@
+package com.app.coworking.outbox;
+
+import com.app.coworking.dto.OutboxMessage;
+import java.util.List;
+
+// Получатель событий из outbox. Сообщения приходят в порядке id; если publish бросает
+// исключение, вся пачка будет отправлена повторно
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
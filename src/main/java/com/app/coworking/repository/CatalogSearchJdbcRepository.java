@@ -0,0 +1,55 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.dto.SearchHit;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Поиск по search_vector коворкингов и рабочих мест (см. SchemaJdbcRepository):
+// GIN-индекс отбирает совпадения, ts_rank упорядочивает. Keyset по (rank DESC, kind, id)
+@Repository
+public class CatalogSearchJdbcRepository {
+
+    private static final String HITS_SQL = "SELECT * FROM ("
+            + "SELECT 'COWORKING' AS kind, c.id, c.id AS coworking_id, c.name, "
+            + "ts_rank(c.search_vector, q) AS rank "
+            + "FROM coworkings c, websearch_to_tsquery('simple', ?) q "
+            + "WHERE c.search_vector @@ q "
+            + "UNION ALL "
+            + "SELECT 'WORKSPACE', w.id, w.coworking_id, w.name, "
+            + "ts_rank(w.search_vector, q) "
+            + "FROM workspaces w, websearch_to_tsquery('simple', ?) q "
+            + "WHERE w.search_vector @@ q"
+            + ") hits";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogSearchJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // after == null — первая страница
+    public List<SearchHit> search(String query, SearchHit after, int limit) {
+        StringBuilder sql = new StringBuilder(HITS_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(query);
+        params.add(query);
+        if (after != null) {
+            sql.append(" WHERE rank < ? OR (rank = ? AND (kind > ? OR (kind = ? AND id > ?)))");
+            params.add(after.rank());
+            params.add(after.rank());
+            params.add(after.kind().name());
+            params.add(after.kind().name());
+            params.add(after.id());
+        }
+        sql.append(" ORDER BY rank DESC, kind, id LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new SearchHit(
+                SearchHit.Kind.valueOf(rs.getString("kind")),
+                rs.getLong("id"),
+                rs.getLong("coworking_id"),
+                rs.getString("name"),
+                rs.getFloat("rank")), params.toArray());
+    }
+}
@@ -1,7 +1,14 @@
 package com.app.coworking.repository;
 
+import com.app.coworking.dto.CoworkingTypeAggregate;
+import com.app.coworking.dto.CoworkingView;
 import com.app.coworking.model.Coworking;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -9,4 +16,38 @@ public interface CoworkingRepository extends JpaRepository<Coworking, Long> {
     boolean existsByName(String name);
 
     boolean existsByAddress(String address);
-}
\ No newline at end of file
+
+    // Удаление одним DELETE по id: delete(entity) ради каскада загрузил бы рабочие места
+    @Modifying
+    @Query("DELETE FROM Coworking c WHERE c.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM Coworking c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    // Сводка одним агрегатом: LEFT JOIN, чтобы коворкинги без рабочих мест тоже попали
+    @Query("SELECT new com.app.coworking.dto.CoworkingTypeAggregate(c.id, c.name, c.address, "
+            + "w.type, COUNT(w), SUM(w.capacity)) "
+            + "FROM Coworking c LEFT JOIN c.workspaces w "
+            + "GROUP BY c.id, c.name, c.address, w.type "
+            + "ORDER BY c.id")
+    List<CoworkingTypeAggregate> aggregateByType();
+
+    @Query("SELECT new com.app.coworking.dto.CoworkingTypeAggregate(c.id, c.name, c.address, "
+            + "w.type, COUNT(w), SUM(w.capacity)) "
+            + "FROM Coworking c LEFT JOIN c.workspaces w "
+            + "WHERE c.id IN :ids "
+            + "GROUP BY c.id, c.name, c.address, w.type "
+            + "ORDER BY c.id")
+    List<CoworkingTypeAggregate> aggregateByType(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.app.coworking.dto.CoworkingView(c.id, c.name, c.address, c.email, "
+            + "c.phoneNumber, c.description) "
+            + "FROM Coworking c ORDER BY c.id")
+    List<CoworkingView> findAllViews();
+
+    @Query("SELECT new com.app.coworking.dto.CoworkingView(c.id, c.name, c.address, c.email, "
+            + "c.phoneNumber, c.description) "
+            + "FROM Coworking c WHERE c.id IN :ids")
+    List<CoworkingView> findViewsByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,75 @@
+package com.app.coworking.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Пакетные операции над daily_occupancy, которых нет в JPA: upsert дельт и пересчет
+@Repository
+public class DailyOccupancyJdbcRepository {
+
+    // Пространство ключей advisory-блокировок свертки; второй ключ — id коворкинга
+    private static final int ROLLUP_LOCK_SPACE = 37;
+
+    private static final String UPSERT_SQL = "INSERT INTO daily_occupancy "
+            + "(workspace_id, day, booked) VALUES (?, ?, ?) "
+            + "ON CONFLICT (workspace_id, day) "
+            + "DO UPDATE SET booked = daily_occupancy.booked + EXCLUDED.booked";
+
+    // Архив (reservations_archive) тоже учитывается, чтобы история не терялась при пересчете
+    private static final String REBUILD_SQL = "INSERT INTO daily_occupancy "
+            + "(workspace_id, day, booked) "
+            + "SELECT r.workspace_id, d.day::date, COUNT(*) "
+            + "FROM (SELECT workspace_id, start_date, end_date FROM reservations "
+            + "      UNION ALL "
+            + "      SELECT workspace_id, start_date, end_date FROM reservations_archive) r "
+            + "JOIN workspaces w ON w.id = r.workspace_id "
+            + "CROSS JOIN LATERAL generate_series(r.start_date, r.end_date, "
+            + "interval '1 day') AS d(day) "
+            + "WHERE w.coworking_id = ? "
+            + "GROUP BY r.workspace_id, d.day";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyOccupancyJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Ключи приходят отсортированными — транзакции блокируют строки в одном порядке
+    public void applyDeltas(List<Map.Entry<DeltaKey, Integer>> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getKey().workspaceId());
+            ps.setDate(2, Date.valueOf(delta.getKey().day()));
+            ps.setInt(3, delta.getValue());
+        });
+    }
+
+    // Писатели берут разделяемую блокировку коворкинга, пересчет — исключительную:
+    // дельта либо уже видна снимку пересчета, либо применится после него
+    public void lockCoworkingShared(Long coworkingId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(?, ?)", rs -> null,
+                ROLLUP_LOCK_SPACE, coworkingId.intValue());
+    }
+
+    public void lockCoworkingExclusive(Long coworkingId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null,
+                ROLLUP_LOCK_SPACE, coworkingId.intValue());
+    }
+
+    public int rebuildCoworking(Long coworkingId) {
+        jdbcTemplate.update("DELETE FROM daily_occupancy WHERE workspace_id IN "
+                + "(SELECT id FROM workspaces WHERE coworking_id = ?)", coworkingId);
+        return jdbcTemplate.update(REBUILD_SQL, coworkingId);
+    }
+
+    public record DeltaKey(Long workspaceId, LocalDate day) implements Comparable<DeltaKey> {
+        @Override
+        public int compareTo(DeltaKey other) {
+            int byWorkspace = workspaceId.compareTo(other.workspaceId);
+            return byWorkspace != 0 ? byWorkspace : day.compareTo(other.day);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.dto.BookedDays;
+import com.app.coworking.dto.WorkspaceAvailability;
+import com.app.coworking.model.DailyOccupancy;
+import com.app.coworking.model.DailyOccupancyId;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailyOccupancyRepository extends JpaRepository<DailyOccupancy, DailyOccupancyId> {
+
+    // Свертка хранит и нулевые дни, и историю архивных броней — перед удалением workspace
+    // ее строки убираем явно
+    @Modifying
+    @Query("DELETE FROM DailyOccupancy d WHERE d.id.workspaceId = :workspaceId")
+    int deleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    @Query("SELECT new com.app.coworking.dto.BookedDays(d.id.workspaceId, SUM(d.booked)) "
+            + "FROM DailyOccupancy d "
+            + "WHERE d.id.day >= :from AND d.id.day <= :to "
+            + "AND (:coworkingId IS NULL OR d.workspace.coworking.id = :coworkingId) "
+            + "GROUP BY d.id.workspaceId")
+    List<BookedDays> sumBookedDays(@Param("coworkingId") Long coworkingId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    // Доступность на день берется из свертки: отсутствующая строка — ноль броней
+    @Query("SELECT new com.app.coworking.dto.WorkspaceAvailability(w.id, w.coworking.id, "
+            + "w.name, w.type, w.capacity, COALESCE(d.booked, 0)) "
+            + "FROM Workspace w "
+            + "LEFT JOIN DailyOccupancy d ON d.id.workspaceId = w.id AND d.id.day = :day "
+            + "WHERE w.coworking.id = :coworkingId "
+            + "ORDER BY w.id")
+    List<WorkspaceAvailability> findAvailabilityByCoworkingId(
+            @Param("coworkingId") Long coworkingId, @Param("day") LocalDate day);
+
+    @Query("SELECT new com.app.coworking.dto.WorkspaceAvailability(w.id, w.coworking.id, "
+            + "w.name, w.type, w.capacity, COALESCE(d.booked, 0)) "
+            + "FROM Workspace w "
+            + "LEFT JOIN DailyOccupancy d ON d.id.workspaceId = w.id AND d.id.day = :day "
+            + "WHERE w.id IN :workspaceIds "
+            + "ORDER BY w.id")
+    List<WorkspaceAvailability> findAvailabilityByWorkspaceIds(
+            @Param("workspaceIds") Collection<Long> workspaceIds, @Param("day") LocalDate day);
+}
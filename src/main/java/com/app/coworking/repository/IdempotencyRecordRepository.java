@@ -0,0 +1,35 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.model.IdempotencyRecord;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Всегда INSERT (save() с заданным id сделал бы merge). Строка с истекшим TTL, которую
+    // еще не удалила очистка, перезаписывается; живой ключ не меняется, и запрос вернет 0
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys "
+            + "(idempotency_key, request_hash, status_code, response_body, created_at) "
+            + "VALUES (:key, :requestHash, :statusCode, :responseBody, :createdAt) "
+            + "ON CONFLICT (idempotency_key) DO UPDATE SET "
+            + "request_hash = EXCLUDED.request_hash, status_code = EXCLUDED.status_code, "
+            + "response_body = EXCLUDED.response_body, created_at = EXCLUDED.created_at "
+            + "WHERE idempotency_keys.created_at < :cutoff",
+            nativeQuery = true)
+    int insert(@Param("key") String key,
+               @Param("requestHash") String requestHash,
+               @Param("statusCode") int statusCode,
+               @Param("responseBody") byte[] responseBody,
+               @Param("createdAt") Instant createdAt,
+               @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
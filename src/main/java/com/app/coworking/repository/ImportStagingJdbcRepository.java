@@ -0,0 +1,187 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.dto.ImportEntity;
+import com.app.coworking.dto.ImportRowError;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+// Импорт через общие UNLOGGED staging-таблицы, строки одного импорта помечены import_id.
+// Пачки грузятся COPY в автокоммите по мере чтения файла; отклоненная строка остается
+// в staging с текстом ошибки. Дубликаты внутри файла, конфликты с БД и перенос
+// в основную таблицу — несколько UPDATE и один INSERT ... SELECT в конце импорта
+@Repository
+public class ImportStagingJdbcRepository {
+
+    private static final String DUPLICATE_ERROR = "Duplicate row in import file";
+
+    private static final RowMapper<ImportRowError> ERROR_MAPPER = (rs, rowNum) ->
+            new ImportRowError(rs.getLong(1), rs.getString(2));
+
+    // Те же правила уникальности, что в create-методах сервисов
+    private static final Map<ImportEntity, List<String>> UNIQUE_KEYS =
+            new EnumMap<>(ImportEntity.class);
+
+    private static final Map<ImportEntity, List<String>> CONFLICT_SQL =
+            new EnumMap<>(ImportEntity.class);
+
+    private static final Map<ImportEntity, String> INSERT_SQL = new EnumMap<>(ImportEntity.class);
+
+    static {
+        UNIQUE_KEYS.put(ImportEntity.COWORKINGS, List.of("name", "address"));
+        UNIQUE_KEYS.put(ImportEntity.WORKSPACES, List.of("coworking_id, name"));
+        UNIQUE_KEYS.put(ImportEntity.USERS, List.of("email"));
+
+        CONFLICT_SQL.put(ImportEntity.COWORKINGS, List.of(
+                "UPDATE import_coworkings s "
+                        + "SET error = 'Coworking with name ''' || s.name || ''' already exists' "
+                        + "FROM coworkings c "
+                        + "WHERE s.import_id = ? AND s.error IS NULL AND c.name = s.name",
+                "UPDATE import_coworkings s SET error = "
+                        + "'Coworking with address ''' || s.address || ''' already exists' "
+                        + "FROM coworkings c "
+                        + "WHERE s.import_id = ? AND s.error IS NULL AND c.address = s.address"));
+        CONFLICT_SQL.put(ImportEntity.WORKSPACES, List.of(
+                "UPDATE import_workspaces s "
+                        + "SET error = 'Coworking not found with id ' || s.coworking_id "
+                        + "WHERE s.import_id = ? AND s.error IS NULL AND NOT EXISTS "
+                        + "(SELECT 1 FROM coworkings c WHERE c.id = s.coworking_id::bigint)",
+                "UPDATE import_workspaces s "
+                        + "SET error = 'Workspace with this name already exists in the coworking' "
+                        + "FROM workspaces w WHERE s.import_id = ? AND s.error IS NULL "
+                        + "AND w.coworking_id = s.coworking_id::bigint AND w.name = s.name"));
+        CONFLICT_SQL.put(ImportEntity.USERS, List.of(
+                "UPDATE import_users s SET error = 'Email is already in use' "
+                        + "FROM users u "
+                        + "WHERE s.import_id = ? AND s.error IS NULL AND u.email = s.email"));
+
+        INSERT_SQL.put(ImportEntity.COWORKINGS, "INSERT INTO coworkings "
+                + "(name, address, email, phone_number, description) "
+                + "SELECT name, address, email, phone_number, description "
+                + "FROM import_coworkings WHERE import_id = ? AND error IS NULL ORDER BY row_no");
+        // id берем из той же последовательности, что и Hibernate: каждый nextval занимает
+        // целый пул, поэтому пересечения с id, выданными приложением, невозможны
+        INSERT_SQL.put(ImportEntity.WORKSPACES, "INSERT INTO workspaces "
+                + "(id, coworking_id, name, type, capacity, description) "
+                + "SELECT nextval('workspaces_seq'), coworking_id::bigint, name, type, "
+                + "capacity::int, description "
+                + "FROM import_workspaces WHERE import_id = ? AND error IS NULL ORDER BY row_no");
+        INSERT_SQL.put(ImportEntity.USERS, "INSERT INTO users "
+                + "(email, password, first_name, last_name, role) "
+                + "SELECT email, password, first_name, last_name, role "
+                + "FROM import_users WHERE import_id = ? AND error IS NULL ORDER BY row_no");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportStagingJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Значения уже проверены, поэтому все колонки текстовые, типы приводятся при переносе.
+    // UNLOGGED: staging не пишет WAL, а после сбоя PostgreSQL его содержимое не нужно
+    public void createTablesIfNotExist() {
+        for (ImportEntity entity : ImportEntity.values()) {
+            StringBuilder sql = new StringBuilder("CREATE UNLOGGED TABLE IF NOT EXISTS ")
+                    .append(stagingTable(entity))
+                    .append(" (import_id UUID NOT NULL, row_no BIGINT NOT NULL, error TEXT");
+            entity.getColumns().forEach(column -> sql.append(", ").append(column)
+                    .append(" TEXT"));
+            sql.append(", PRIMARY KEY (import_id, row_no))");
+            jdbcTemplate.execute(sql.toString());
+        }
+    }
+
+    // rows: номер строки и значения в порядке ImportEntity.getColumns(); null пишется как NULL.
+    // У строки с ошибкой значений нет, сохраняется только текст ошибки
+    public long copyIn(ImportEntity entity, UUID importId, List<StagedRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int columns = entity.getColumns().size();
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (StagedRow row : rows) {
+            csv.append(importId).append(',').append(row.row()).append(',');
+            appendQuoted(csv, row.error());
+            for (int i = 0; i < columns; i++) {
+                csv.append(',');
+                appendQuoted(csv, row.values() == null ? null : row.values().get(i));
+            }
+            csv.append('\n');
+        }
+        String sql = "COPY " + stagingTable(entity) + " (import_id, row_no, error, "
+                + String.join(", ", entity.getColumns()) + ") FROM STDIN WITH (FORMAT csv)";
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(sql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    // Из строк с одинаковым ключом принимается первая по номеру, остальные помечаются
+    public void rejectDuplicates(ImportEntity entity, UUID importId) {
+        String table = stagingTable(entity);
+        for (String key : UNIQUE_KEYS.get(entity)) {
+            jdbcTemplate.update("UPDATE " + table + " s SET error = '" + DUPLICATE_ERROR + "' "
+                    + "FROM (SELECT row_no, row_number() OVER (PARTITION BY " + key
+                    + " ORDER BY row_no) AS rn FROM " + table
+                    + " WHERE import_id = ? AND error IS NULL) d "
+                    + "WHERE s.import_id = ? AND s.row_no = d.row_no AND d.rn > 1",
+                    importId, importId);
+        }
+    }
+
+    // Помечает строки, конфликтующие с уже сохраненными данными
+    public void rejectConflicts(ImportEntity entity, UUID importId) {
+        for (String sql : CONFLICT_SQL.get(entity)) {
+            jdbcTemplate.update(sql, importId);
+        }
+    }
+
+    public int insertFromStaging(ImportEntity entity, UUID importId) {
+        return jdbcTemplate.update(INSERT_SQL.get(entity), importId);
+    }
+
+    public long countErrors(ImportEntity entity, UUID importId) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + stagingTable(entity)
+                + " WHERE import_id = ? AND error IS NOT NULL", Long.class, importId);
+        return count == null ? 0 : count;
+    }
+
+    public List<ImportRowError> findErrors(ImportEntity entity, UUID importId, int limit) {
+        return jdbcTemplate.query("SELECT row_no, error FROM " + stagingTable(entity)
+                + " WHERE import_id = ? AND error IS NOT NULL ORDER BY row_no LIMIT ?",
+                ERROR_MAPPER, importId, limit);
+    }
+
+    public void deleteStaging(ImportEntity entity, UUID importId) {
+        jdbcTemplate.update("DELETE FROM " + stagingTable(entity) + " WHERE import_id = ?",
+                importId);
+    }
+
+    private static void appendQuoted(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static String stagingTable(ImportEntity entity) {
+        return "import_" + entity.getTable();
+    }
+
+    public record StagedRow(long row, List<String> values, String error) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.dto.OutboxMessage;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class OutboxJdbcRepository {
+
+    // Пространство ключей advisory-блокировок ретранслятора; второй ключ — id рабочего места
+    private static final int RELAY_LOCK_SPACE = 39;
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events "
+            + "(workspace_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    // SKIP LOCKED — параллельные ретрансляторы не ждут друг друга. Кандидаты отбираются
+    // в CTE, и advisory-блокировка берется только для его строк, а не для всей очереди.
+    // Кандидат с более старым неотправленным событием того же рабочего места вне своей
+    // пачки (его держит другой ретранслятор) пропускается до следующего опроса, поэтому
+    // порядок по id внутри рабочего места сохраняется. Advisory-блокировка не дает двум
+    // узлам одновременно взять события одного места; ключ — хэш bigint id, а не ::int,
+    // который переполнился бы на id больше 2^31
+    private static final String CLAIM_SQL = "WITH candidates AS ("
+            + "SELECT id, workspace_id, event_type, payload, created_at FROM outbox_events "
+            + "WHERE published_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED), "
+            + "ready AS MATERIALIZED (SELECT * FROM candidates c WHERE NOT EXISTS ("
+            + "SELECT 1 FROM outbox_events e "
+            + "WHERE (e.workspace_id = c.workspace_id "
+            + "OR (e.workspace_id IS NULL AND c.workspace_id IS NULL)) "
+            + "AND e.published_at IS NULL AND e.id < c.id "
+            + "AND e.id NOT IN (SELECT id FROM candidates))) "
+            + "SELECT id, workspace_id, event_type, payload, created_at FROM ready "
+            + "WHERE pg_try_advisory_xact_lock(" + RELAY_LOCK_SPACE
+            + ", hashint8(COALESCE(workspace_id, 0))) "
+            + "ORDER BY id";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getObject("workspace_id", Long.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertBatch(List<OutboxMessage> messages) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            if (message.workspaceId() != null) {
+                ps.setLong(1, message.workspaceId());
+            } else {
+                ps.setNull(1, Types.BIGINT);
+            }
+            ps.setString(2, message.eventType());
+            ps.setString(3, message.payload());
+            ps.setTimestamp(4, Timestamp.from(message.createdAt()));
+        });
+    }
+
+    public List<OutboxMessage> claimBatch(int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, limit);
+    }
+
+    public void markPublished(List<Long> ids, Instant publishedAt) {
+        jdbcTemplate.update("UPDATE outbox_events SET published_at = ? WHERE id = ANY (?)",
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.from(publishedAt));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                });
+    }
+
+    public int deletePublishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM outbox_events "
+                + "WHERE published_at IS NOT NULL AND published_at < ?", Timestamp.from(cutoff));
+    }
+}
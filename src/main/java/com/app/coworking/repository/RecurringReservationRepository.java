@@ -0,0 +1,24 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.model.RecurringReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecurringReservationRepository
+        extends JpaRepository<RecurringReservation, Long> {
+
+    // Удаляются только серии без оставшихся броней: на серию с бронями ссылается FK
+    @Modifying
+    @Query("DELETE FROM RecurringReservation s WHERE s.workspace.id = :workspaceId "
+            + "AND NOT EXISTS (SELECT 1 FROM Reservation r WHERE r.recurrence = s)")
+    int deleteEmptyByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    @Modifying
+    @Query("DELETE FROM RecurringReservation s WHERE s.user.id = :userId "
+            + "AND NOT EXISTS (SELECT 1 FROM Reservation r WHERE r.recurrence = s)")
+    int deleteEmptyByUserId(@Param("userId") Long userId);
+}
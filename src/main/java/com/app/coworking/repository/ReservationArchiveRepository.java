@@ -0,0 +1,122 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.dto.ArchivedReservation;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+// Холодное хранилище завершенных броней: reservations_archive секционирована по end_date
+// помесячно. Таблицы нет в JPA-модели — ddl-auto не умеет PARTITION BY.
+@Repository
+public class ReservationArchiveRepository {
+
+    private static final String TABLE = "reservations_archive";
+
+    private static final String COLUMNS = "id, workspace_id, user_id, start_date, end_date, "
+            + "comment, status, recurring_reservation_id";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p\\d{6}");
+
+    private static final RowMapper<ArchivedReservation> ROW_MAPPER = (rs, rowNum) ->
+            new ArchivedReservation(
+                    rs.getLong("id"),
+                    rs.getLong("workspace_id"),
+                    rs.getLong("user_id"),
+                    rs.getDate("start_date").toLocalDate(),
+                    rs.getDate("end_date").toLocalDate(),
+                    rs.getString("comment"),
+                    rs.getTimestamp("archived_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservationArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Внешних ключей нет: архив переживает удаление рабочих мест и пользователей
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "id BIGINT NOT NULL, "
+                + "workspace_id BIGINT NOT NULL, "
+                + "user_id BIGINT NOT NULL, "
+                + "start_date DATE NOT NULL, "
+                + "end_date DATE NOT NULL, "
+                + "comment TEXT, "
+                + "status VARCHAR(16), "
+                + "recurring_reservation_id BIGINT, "
+                + "archived_at TIMESTAMPTZ NOT NULL DEFAULT now(), "
+                + "PRIMARY KEY (id, end_date)"
+                + ") PARTITION BY RANGE (end_date)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + "_default PARTITION OF "
+                + TABLE + " DEFAULT");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_user "
+                + "ON " + TABLE + " (user_id, end_date)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_workspace "
+                + "ON " + TABLE + " (workspace_id, end_date)");
+    }
+
+    public void createPartitionIfNotExists(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF " + TABLE + " FOR VALUES FROM ('" + month.atDay(1)
+                + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    public LocalDate findOldestActiveEndDate() {
+        return jdbcTemplate.queryForObject("SELECT min(end_date) FROM reservations",
+                LocalDate.class);
+    }
+
+    // Перенос одним выражением: строки удаляются из reservations и вставляются в архив
+    // в той же транзакции, без промежуточной выборки в приложение
+    public int moveEndedBetween(LocalDate from, LocalDate until) {
+        return jdbcTemplate.update("WITH moved AS ("
+                + "DELETE FROM reservations WHERE end_date >= ? AND end_date < ? "
+                + "RETURNING " + COLUMNS + ") "
+                + "INSERT INTO " + TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved",
+                Date.valueOf(from), Date.valueOf(until));
+    }
+
+    // Месячные секции, целиком лежащие до указанного месяца (DEFAULT не учитывается)
+    public List<String> findPartitionsBefore(YearMonth month) {
+        String oldestKept = partitionName(month);
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits i "
+                        + "JOIN pg_class child ON child.oid = i.inhrelid "
+                        + "JOIN pg_class parent ON parent.oid = i.inhparent "
+                        + "WHERE parent.relname = ?", String.class, TABLE)
+                .stream()
+                .filter(name -> PARTITION_NAME.matcher(name).matches())
+                .filter(name -> name.compareTo(oldestKept) < 0)
+                .sorted()
+                .toList();
+    }
+
+    // Отсоединенная секция остается обычной таблицей — ее можно выгрузить и удалить
+    public void detachPartition(String partitionName) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partitionName);
+    }
+
+    // Условие по end_date позволяет планировщику читать только нужные секции
+    public List<ArchivedReservation> findByUserId(Long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + ", archived_at FROM " + TABLE
+                        + " WHERE user_id = ? AND end_date >= ? AND end_date <= ? "
+                        + "ORDER BY end_date, id",
+                ROW_MAPPER, userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<ArchivedReservation> findByWorkspaceId(Long workspaceId, LocalDate from,
+                                                       LocalDate to) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + ", archived_at FROM " + TABLE
+                        + " WHERE workspace_id = ? AND end_date >= ? AND end_date <= ? "
+                        + "ORDER BY end_date, id",
+                ROW_MAPPER, workspaceId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("%s_p%04d%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,167 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.dto.ReservationFilter;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.enums.ReservationStatus;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+// JDBC-операции над reservations, которые JPA не умеет делать пакетно (IDENTITY ключи)
+@Repository
+public class ReservationJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO reservations "
+            + "(workspace_id, user_id, start_date, end_date, comment, recurring_reservation_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String RETURNING_CHANGE = " RETURNING r.id, r.user_id, r.workspace_id, "
+            + "w.coworking_id, r.start_date, r.end_date, r.status";
+
+    private static final RowMapper<ReservationChange> DELETED_MAPPER = (rs, rowNum) ->
+            new ReservationChange(
+                    ReservationChange.Type.DELETED,
+                    rs.getLong("id"),
+                    rs.getLong("user_id"),
+                    rs.getLong("workspace_id"),
+                    rs.getLong("coworking_id"),
+                    rs.getDate("start_date").toLocalDate(),
+                    rs.getDate("end_date").toLocalDate(),
+                    ReservationStatus.valueOf(rs.getString("status")),
+                    null,
+                    null);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservationJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Вставляет все брони одним JDBC batch в текущей транзакции и проставляет им id
+    public void insertBatch(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL,
+                    new String[] {"id"})) {
+                for (Reservation reservation : reservations) {
+                    ps.setLong(1, reservation.getWorkspace().getId());
+                    ps.setLong(2, reservation.getUser().getId());
+                    ps.setDate(3, Date.valueOf(reservation.getStartDate()));
+                    ps.setDate(4, Date.valueOf(reservation.getEndDate()));
+                    ps.setString(5, reservation.getComment());
+                    if (reservation.getRecurrence() != null) {
+                        ps.setLong(6, reservation.getRecurrence().getId());
+                    } else {
+                        ps.setNull(6, Types.BIGINT);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        reservations.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // Одно выражение DELETE ... RETURNING вместо загрузки и удаления каждой брони.
+    // null-фильтры не участвуют в условии
+    public List<ReservationChange> deleteMatching(Long workspaceId, Long coworkingId,
+                                                  LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder("DELETE FROM reservations r USING workspaces w "
+                + "WHERE w.id = r.workspace_id AND r.end_date >= ?");
+        List<Object> params = new ArrayList<>();
+        params.add(Date.valueOf(from));
+        if (to != null) {
+            sql.append(" AND r.start_date <= ?");
+            params.add(Date.valueOf(to));
+        }
+        if (workspaceId != null) {
+            sql.append(" AND r.workspace_id = ?");
+            params.add(workspaceId);
+        }
+        if (coworkingId != null) {
+            sql.append(" AND w.coworking_id = ?");
+            params.add(coworkingId);
+        }
+        sql.append(RETURNING_CHANGE);
+        return jdbcTemplate.query(sql.toString(), DELETED_MAPPER, params.toArray());
+    }
+
+    // Keyset-страница по (start_date, id). В WHERE попадают только заданные фильтры,
+    // а продолжение после курсора — сравнение пар, которое PostgreSQL превращает в границу
+    // диапазона по idx_reservations_start_date_id, а не в фильтр по всем строкам до нее
+    public List<Long> findPageIds(ReservationFilter filter, LocalDate afterStart, Long afterId,
+                                  int limit) {
+        StringBuilder sql = new StringBuilder("SELECT r.id FROM reservations r");
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (filter.coworkingId() != null) {
+            sql.append(" JOIN workspaces w ON w.id = r.workspace_id");
+            conditions.add("w.coworking_id = ?");
+            params.add(filter.coworkingId());
+        }
+        if (filter.workspaceId() != null) {
+            conditions.add("r.workspace_id = ?");
+            params.add(filter.workspaceId());
+        }
+        if (filter.userId() != null) {
+            conditions.add("r.user_id = ?");
+            params.add(filter.userId());
+        }
+        if (filter.from() != null) {
+            conditions.add("r.end_date >= ?");
+            params.add(Date.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            conditions.add("r.start_date <= ?");
+            params.add(Date.valueOf(filter.to()));
+        }
+        if (afterStart != null) {
+            conditions.add("(r.start_date, r.id) > (?, ?)");
+            params.add(Date.valueOf(afterStart));
+            params.add(afterId);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY r.start_date, r.id LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+    }
+
+    // Статус и срок проверяются в самом DELETE: подтвержденная параллельно бронь
+    // (или продленная) под условие уже не попадет, даже если была выбрана таймером
+    public List<ReservationChange> deleteExpiredHolds(Collection<Long> ids, Instant now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> params = new ArrayList<>(ids);
+        params.add(Timestamp.from(now));
+        return jdbcTemplate.query("DELETE FROM reservations r USING workspaces w "
+                        + "WHERE w.id = r.workspace_id "
+                        + "AND r.id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?"))
+                        + ") AND r.status = 'HOLD' AND r.hold_expires_at <= ?"
+                        + RETURNING_CHANGE,
+                DELETED_MAPPER, params.toArray());
+    }
+}
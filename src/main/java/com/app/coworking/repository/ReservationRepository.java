@@ -1,22 +1,116 @@
 package com.app.coworking.repository;
 
+import com.app.coworking.dto.HoldExpiration;
+import com.app.coworking.dto.ReservationExportRow;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.dto.UserReservationView;
 import com.app.coworking.model.Reservation;
+import com.app.coworking.model.enums.ReservationStatus;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    @Query("SELECT r FROM Reservation r WHERE r.user.email = :email")
-    List<Reservation> findByUserEmail(@Param("email") String email);
+    // Проверки перед удалением: EXISTS с LIMIT 1 вместо загрузки коллекции броней
+    boolean existsByWorkspaceId(Long workspaceId);
 
-    @Query("SELECT r FROM Reservation r "
+    boolean existsByUserId(Long userId);
+
+    // Один запрос на пользователя и все его брони: LEFT JOIN от users сохраняет строку
+    // и для пользователя без броней, пустой результат — пользователя нет
+    @Query("SELECT new com.app.coworking.dto.UserReservationView(r.id, r.startDate, r.endDate, "
+            + "r.status, r.comment, w.id, w.name, w.type, c.id, c.name) "
+            + "FROM User u "
+            + "LEFT JOIN u.reservations r "
+            + "LEFT JOIN r.workspace w "
+            + "LEFT JOIN w.coworking c "
+            + "WHERE u.email = :email "
+            + "ORDER BY r.startDate, r.id")
+    List<UserReservationView> findUserReservationsByEmail(@Param("email") String email);
+
+    // Сущности страницы, ключи которой выбрал ReservationJdbcRepository.findPageIds
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids ORDER BY r.startDate, r.id")
+    List<Reservation> findPageByIds(@Param("ids") Collection<Long> ids);
+
+    // Курсор на стороне сервера: PostgreSQL отдает строки порциями по fetch size,
+    // а проекция не попадает в persistence context, так что память не растет с числом строк
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.app.coworking.dto.ReservationExportRow(r.id, w.id, w.coworking.id, "
+            + "u.id, u.email, r.startDate, r.endDate, r.status, r.comment) "
+            + "FROM Reservation r JOIN r.workspace w JOIN r.user u "
+            + "WHERE (:from IS NULL OR r.endDate >= :from) "
+            + "AND (:to IS NULL OR r.startDate <= :to) "
+            + "ORDER BY r.id")
+    Stream<ReservationExportRow> streamForExport(@Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    // Считаем пересечения прямо в БД: сущности и lazy-прокси не загружаются.
+    // HOLD-брони учитываются наравне с подтвержденными
+    @Query("SELECT COUNT(r) FROM Reservation r "
+            + "WHERE r.workspace.id = :workspaceId "
+            + "AND r.startDate <= :end "
+            + "AND r.endDate >= :start "
+            + "AND (:excludeId IS NULL OR r.id <> :excludeId)")
+    long countOverlappingReservations(@Param("workspaceId") Long workspaceId,
+                                      @Param("start") LocalDate start,
+                                      @Param("end") LocalDate end,
+                                      @Param("excludeId") Long excludeId);
+
+    // Диапазоны броней сразу для нескольких workspace одним запросом, отсортированы по началу
+    @Query("SELECT new com.app.coworking.dto.ReservedRange(r.workspace.id, r.startDate, r.endDate) "
+            + "FROM Reservation r "
+            + "WHERE r.workspace.id IN :workspaceIds "
+            + "AND r.startDate <= :end "
+            + "AND r.endDate >= :start "
+            + "ORDER BY r.startDate")
+    List<ReservedRange> findReservedRanges(@Param("workspaceIds") Collection<Long> workspaceIds,
+                                           @Param("start") LocalDate start,
+                                           @Param("end") LocalDate end);
+
+    // Все брони workspace, не закончившиеся до from, по возрастанию начала — для поиска окон
+    @Query("SELECT new com.app.coworking.dto.ReservedRange(r.workspace.id, r.startDate, r.endDate) "
+            + "FROM Reservation r "
             + "WHERE r.workspace.id = :workspaceId "
+            + "AND r.endDate >= :from "
+            + "ORDER BY r.startDate")
+    List<ReservedRange> findReservedRangesFrom(@Param("workspaceId") Long workspaceId,
+                                               @Param("from") LocalDate from);
+
+    @Query("SELECT new com.app.coworking.dto.ReservedRange(r.workspace.id, r.startDate, r.endDate) "
+            + "FROM Reservation r "
+            + "WHERE r.workspace.coworking.id = :coworkingId "
             + "AND r.startDate <= :end "
             + "AND r.endDate >= :start")
-    List<Reservation> findOverlappingReservations(Long workspaceId, LocalDate start, LocalDate end);
+    List<ReservedRange> findReservedRangesByCoworkingId(@Param("coworkingId") Long coworkingId,
+                                                        @Param("start") LocalDate start,
+                                                        @Param("end") LocalDate end);
+
+    @Query("SELECT new com.app.coworking.dto.HoldExpiration(r.id, r.holdExpiresAt) "
+            + "FROM Reservation r WHERE r.status = :status")
+    List<HoldExpiration> findHoldExpirations(@Param("status") ReservationStatus status);
+
+    // Подтверждение — условный UPDATE: если таймер уже удалил бронь или срок вышел,
+    // строка не обновится, и удаление не сможет стереть подтвержденную бронь
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :confirmed, r.holdExpiresAt = NULL "
+            + "WHERE r.id = :id AND r.status = :hold AND r.holdExpiresAt > :now")
+    int confirmHold(@Param("id") Long id,
+                    @Param("hold") ReservationStatus hold,
+                    @Param("confirmed") ReservationStatus confirmed,
+                    @Param("now") Instant now);
 }
@@ -0,0 +1,45 @@
+package com.app.coworking.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// DDL, которое ddl-auto не умеет: выравнивание последовательностей
+// и generated-колонки для полнотекстового поиска
+@Repository
+public class SchemaJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Поднимает последовательность выше max(id) с запасом на один пул, если она отстает:
+    // строки, вставленные раньше через IDENTITY, не должны пересечься с новыми id.
+    // Имена таблицы и последовательности — константы вызывающего кода, не ввод пользователя
+    public void alignSequenceWithTable(String sequence, String table, int allocationSize) {
+        jdbcTemplate.queryForList("SELECT setval('" + sequence + "', m.max_id) "
+                + "FROM (SELECT COALESCE(MAX(id), 0) + " + allocationSize + " AS max_id "
+                + "FROM " + table + ") m "
+                + "WHERE (SELECT last_value FROM " + sequence + ") < m.max_id");
+    }
+
+    // tsvector как STORED generated column: PostgreSQL пересчитывает его при каждой записи,
+    // включая COPY-импорт. Конфигурация 'simple' — без стемминга, данные на разных языках.
+    // Веса: имя A, адрес B, описание C
+    public void createSearchVectors() {
+        jdbcTemplate.execute("ALTER TABLE coworkings ADD COLUMN IF NOT EXISTS search_vector "
+                + "tsvector GENERATED ALWAYS AS ("
+                + "setweight(to_tsvector('simple', coalesce(name, '')), 'A') || "
+                + "setweight(to_tsvector('simple', coalesce(address, '')), 'B') || "
+                + "setweight(to_tsvector('simple', coalesce(description, '')), 'C')) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_coworkings_search_vector "
+                + "ON coworkings USING GIN (search_vector)");
+        jdbcTemplate.execute("ALTER TABLE workspaces ADD COLUMN IF NOT EXISTS search_vector "
+                + "tsvector GENERATED ALWAYS AS ("
+                + "setweight(to_tsvector('simple', coalesce(name, '')), 'A') || "
+                + "setweight(to_tsvector('simple', coalesce(description, '')), 'C')) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_workspaces_search_vector "
+                + "ON workspaces USING GIN (search_vector)");
+    }
+}
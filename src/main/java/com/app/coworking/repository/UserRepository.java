@@ -1,8 +1,14 @@
 package com.app.coworking.repository;
 
+import com.app.coworking.dto.UserView;
 import com.app.coworking.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // Удаление одним DELETE по id: delete(entity) ради каскада загрузил бы все брони
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    @Query("SELECT new com.app.coworking.dto.UserView(u.id, u.email, u.firstName, u.lastName, "
+            + "u.role) "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
 }
\ No newline at end of file
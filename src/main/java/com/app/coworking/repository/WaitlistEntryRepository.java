@@ -0,0 +1,37 @@
+package com.app.coworking.repository;
+
+import com.app.coworking.model.WaitlistEntry;
+import com.app.coworking.model.enums.WaitlistStatus;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("SELECT e FROM WaitlistEntry e "
+            + "WHERE e.workspace.id = :workspaceId "
+            + "AND e.status = :status "
+            + "AND e.startDate <= :end "
+            + "AND e.endDate >= :start "
+            + "ORDER BY e.createdAt, e.id")
+    List<WaitlistEntry> findOverlappingByStatus(@Param("workspaceId") Long workspaceId,
+                                                @Param("status") WaitlistStatus status,
+                                                @Param("start") LocalDate start,
+                                                @Param("end") LocalDate end);
+
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtAsc(Long userId);
+
+    // Очередь ожидания не переживает удаление workspace или пользователя
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry e WHERE e.workspace.id = :workspaceId")
+    int deleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry e WHERE e.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,14 +1,54 @@
 package com.app.coworking.repository;
 
+import com.app.coworking.dto.WorkspaceCapacity;
+import com.app.coworking.dto.WorkspaceView;
 import com.app.coworking.model.Workspace;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
+    boolean existsByCoworkingId(Long coworkingId);
+
+    // Удаление одним DELETE по id: delete(entity) ради каскада загрузил бы все брони
+    @Modifying
+    @Query("DELETE FROM Workspace w WHERE w.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
     @Query("SELECT CASE WHEN COUNT(w) > 0 THEN true ELSE false END "
             + "FROM Workspace w "
             + "WHERE w.name = :name AND w.coworking.id = :coworkingId")
     boolean existsByNameAndCoworkingId(@Param("name") String name,
                                        @Param("coworkingId") Long coworkingId);
+
+    // Проверка имен пачкой для массового создания — один запрос вместо N exists
+    @Query("SELECT w.name FROM Workspace w "
+            + "WHERE w.coworking.id = :coworkingId AND w.name IN :names")
+    List<String> findExistingNames(@Param("coworkingId") Long coworkingId,
+                                   @Param("names") Collection<String> names);
+
+    @Query("SELECT new com.app.coworking.dto.WorkspaceCapacity(w.id, w.name, w.type, w.capacity) "
+            + "FROM Workspace w WHERE w.coworking.id = :coworkingId ORDER BY w.id")
+    List<WorkspaceCapacity> findCapacitiesByCoworkingId(@Param("coworkingId") Long coworkingId);
+
+    @Query("SELECT new com.app.coworking.dto.WorkspaceCapacity(w.id, w.name, w.type, w.capacity) "
+            + "FROM Workspace w ORDER BY w.id")
+    List<WorkspaceCapacity> findAllCapacities();
+
+    @Query("SELECT DISTINCT w.coworking.id FROM Workspace w WHERE w.id IN :ids")
+    List<Long> findCoworkingIds(@Param("ids") Collection<Long> ids);
+
+    // Проекции для снимка каталога: без reservations и без прокси коворкинга
+    @Query("SELECT new com.app.coworking.dto.WorkspaceView(w.id, w.coworking.id, w.name, "
+            + "w.type, w.capacity, w.description) "
+            + "FROM Workspace w ORDER BY w.id")
+    List<WorkspaceView> findAllViews();
+
+    @Query("SELECT new com.app.coworking.dto.WorkspaceView(w.id, w.coworking.id, w.name, "
+            + "w.type, w.capacity, w.description) "
+            + "FROM Workspace w WHERE w.id IN :ids")
+    List<WorkspaceView> findViewsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,214 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.WorkspaceAvailability;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Push доступности на сегодня для киосков. Коммиты только помечают затронутые рабочие
+// места; один поток-диспетчер сливает пометки, одним запросом читает доступность и
+// раскладывает событие по буферам подписчиков, небольшой пул отправляет их клиентам.
+// Запись клиенту блокирующая: сторож отключает подписчика, чья запись идет дольше
+// write-timeout, и на время зависшей записи добавляет пулу поток взамен занятого
+@Service
+public class AvailabilityStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityStreamService.class);
+
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+    private final CoworkingRepository coworkingRepository;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final int senderThreads;
+    private final AtomicInteger stalledSends = new AtomicInteger();
+    private final Map<Long, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Long> changedWorkspaceIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher;
+    private final ThreadPoolExecutor senders;
+
+    public AvailabilityStreamService(DailyOccupancyRepository dailyOccupancyRepository,
+                                     CoworkingRepository coworkingRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${availability.sse.buffer-size:16}") int bufferSize,
+                                     @Value("${availability.sse.sender-threads:4}")
+                                     int senderThreads,
+                                     @Value("${availability.sse.timeout:30m}") Duration timeout,
+                                     @Value("${availability.sse.write-timeout:5s}")
+                                     Duration writeTimeout) {
+        this.dailyOccupancyRepository = dailyOccupancyRepository;
+        this.coworkingRepository = coworkingRepository;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.senderThreads = senderThreads;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(
+                daemonThreads("availability-dispatcher"));
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                daemonThreads("availability-sender"));
+        dispatcher.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS,
+                TimeUnit.SECONDS);
+        long checkMillis = Math.max(writeTimeout.toMillis() / 2, 100);
+        dispatcher.scheduleAtFixedRate(this::abandonStalledSends, checkMillis, checkMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long coworkingId) {
+        if (!coworkingRepository.existsById(coworkingId)) {
+            throw new ResourceNotFoundException("Coworking not found with id " + coworkingId);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Set<SseSubscriber> coworkingSubscribers =
+                subscribers.computeIfAbsent(coworkingId, id -> ConcurrentHashMap.newKeySet());
+        SseSubscriber subscriber = new SseSubscriber(emitter, bufferSize, senders,
+                coworkingSubscribers::remove, this::onStalledSendReturned);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        coworkingSubscribers.add(subscriber);
+
+        subscriber.offer(event("snapshot", dailyOccupancyRepository
+                .findAvailabilityByCoworkingId(coworkingId, LocalDate.now())));
+        return emitter;
+    }
+
+    // Вызывается в потоке закоммитившей транзакции — только помечаем и будим диспетчер
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        boolean changed = false;
+        for (ReservationChange change : event.changes()) {
+            if (change.workspaceId() != null && change.touches(today, today)) {
+                changedWorkspaceIds.add(change.workspaceId());
+                changed = true;
+            }
+        }
+        if (changed && dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    void dispatch() {
+        dispatchScheduled.set(false);
+        List<Long> workspaceIds = new ArrayList<>(changedWorkspaceIds);
+        changedWorkspaceIds.removeAll(workspaceIds);
+        if (workspaceIds.isEmpty() || subscribers.values().stream().allMatch(Set::isEmpty)) {
+            return;
+        }
+        try {
+            Map<Long, List<WorkspaceAvailability>> byCoworking = dailyOccupancyRepository
+                    .findAvailabilityByWorkspaceIds(workspaceIds, LocalDate.now()).stream()
+                    .collect(Collectors.groupingBy(WorkspaceAvailability::coworkingId));
+            byCoworking.forEach((coworkingId, rows) -> {
+                Set<SseSubscriber> targets = subscribers.get(coworkingId);
+                if (targets != null && !targets.isEmpty()) {
+                    Set<DataWithMediaType> event = event("availability", rows);
+                    targets.forEach(subscriber -> subscriber.offer(event));
+                }
+            });
+        } catch (RuntimeException ex) {
+            logger.error("Failed to dispatch availability for workspaces {}", workspaceIds, ex);
+        }
+    }
+
+    private void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(targets -> targets.forEach(subscriber ->
+                subscriber.offer(ping)));
+    }
+
+    void abandonStalledSends() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> {
+            if (subscriber.abandonIfStalled(now, writeTimeoutNanos)) {
+                logger.warn("Dropped SSE subscriber blocked in a write for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                stalledSends.incrementAndGet();
+                resizeSenders();
+            }
+        }));
+    }
+
+    private void onStalledSendReturned() {
+        stalledSends.decrementAndGet();
+        resizeSenders();
+    }
+
+    // Размер пула — базовый плюс число потоков, застрявших в записи отключенным клиентам.
+    // Счетчик может на миг уйти в минус, если запись вернулась раньше, чем сторож его увеличил
+    private synchronized void resizeSenders() {
+        int size = senderThreads + Math.max(0, stalledSends.get());
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // JSON сериализуется один раз на событие, а не на каждого подписчика
+    private Set<DataWithMediaType> event(String name, List<WorkspaceAvailability> rows) {
+        try {
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(rows))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize availability event", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(targets -> List.copyOf(targets)
+                .forEach(SseSubscriber::close));
+        senders.shutdownNow();
+    }
+}
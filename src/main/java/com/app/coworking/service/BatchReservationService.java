@@ -0,0 +1,177 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.BatchReservationItem;
+import com.app.coworking.dto.BatchReservationResult;
+import com.app.coworking.dto.BatchReservationResult.Status;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BatchReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final UserRepository userRepository;
+    private final ReservationCache reservationCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    public BatchReservationService(ReservationRepository reservationRepository,
+                                   ReservationJdbcRepository reservationJdbcRepository,
+                                   WorkspaceRepository workspaceRepository,
+                                   UserRepository userRepository,
+                                   ReservationCache reservationCache,
+                                   ApplicationEventPublisher eventPublisher,
+                                   Validator validator) {
+        this.reservationRepository = reservationRepository;
+        this.reservationJdbcRepository = reservationJdbcRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.userRepository = userRepository;
+        this.reservationCache = reservationCache;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+    }
+
+    // Пакет атомарный: если хотя бы один элемент не проходит проверку, ничего не сохраняется
+    @Transactional
+    public List<BatchReservationResult> createReservationsBatch(Long userId,
+                                                                List<BatchReservationItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidArgumentException("Batch must contain at least one reservation");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User not found with id " + userId));
+
+        // @Valid на List<...> в контроллере проверяет только сам список, поэтому
+        // ограничения элементов проверяем здесь — ошибка попадает в результат элемента
+        List<String> violations = items.stream().map(this::checkConstraints).toList();
+        List<BatchReservationItem> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (violations.get(i) == null) {
+                valid.add(items.get(i));
+            }
+        }
+
+        Set<Long> workspaceIds = valid.stream()
+                .map(BatchReservationItem::workspaceId)
+                .collect(Collectors.toSet());
+        Map<Long, Workspace> workspaces = workspaceIds.isEmpty() ? Map.of()
+                : workspaceRepository.findAllById(workspaceIds).stream()
+                        .collect(Collectors.toMap(Workspace::getId, Function.identity()));
+
+        // одним запросом забираем все брони, пересекающие общий диапазон пакета
+        CapacityLedger ledger = workspaces.isEmpty()
+                ? new CapacityLedger(List.of())
+                : new CapacityLedger(reservationRepository.findReservedRanges(
+                        workspaces.keySet(),
+                        valid.stream().map(BatchReservationItem::startDate)
+                                .min(Comparator.naturalOrder()).orElseThrow(),
+                        valid.stream().map(BatchReservationItem::endDate)
+                                .max(Comparator.naturalOrder()).orElseThrow()));
+
+        List<String> errors = new ArrayList<>(items.size());
+        List<Reservation> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchReservationItem item = items.get(i);
+            String error = violations.get(i);
+            Workspace workspace = null;
+            if (error == null) {
+                workspace = workspaces.get(item.workspaceId());
+                error = checkAvailability(item, workspace, ledger);
+            }
+            errors.add(error);
+            accepted.add(error == null ? toReservation(item, workspace, user) : null);
+        }
+
+        boolean rejected = errors.stream().anyMatch(Objects::nonNull);
+        if (!rejected) {
+            reservationJdbcRepository.insertBatch(accepted);
+            accepted.forEach(reservation -> reservationCache.put(reservation.getId(), reservation));
+            eventPublisher.publishEvent(new ReservationChangedEvent(accepted.stream()
+                    .map(ReservationChange::created)
+                    .toList()));
+        }
+
+        List<BatchReservationResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchReservationItem item = items.get(i);
+            String error = errors.get(i);
+            Status status;
+            if (error != null) {
+                status = Status.REJECTED;
+            } else {
+                status = rejected ? Status.SKIPPED : Status.CREATED;
+            }
+            Long reservationId = status == Status.CREATED ? accepted.get(i).getId() : null;
+            results.add(item == null
+                    ? new BatchReservationResult(i, null, null, null, status, null, error)
+                    : new BatchReservationResult(i, item.workspaceId(), item.startDate(),
+                            item.endDate(), status, reservationId, error));
+        }
+        return results;
+    }
+
+    private static String checkAvailability(BatchReservationItem item, Workspace workspace,
+                                            CapacityLedger ledger) {
+        if (workspace == null) {
+            return "Workspace not found with id " + item.workspaceId();
+        }
+        if (item.endDate().isBefore(item.startDate())) {
+            return ReservationService.INVALID_DATES_MESSAGE;
+        }
+        if (!ledger.tryReserve(workspace, item.startDate(), item.endDate())) {
+            return ReservationService.unavailableMessage(workspace);
+        }
+        return null;
+    }
+
+    private String checkConstraints(BatchReservationItem item) {
+        if (item == null) {
+            return "Reservation item is required";
+        }
+        Set<ConstraintViolation<BatchReservationItem>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Reservation toReservation(BatchReservationItem item, Workspace workspace, User user) {
+        Reservation reservation = new Reservation();
+        reservation.setWorkspace(workspace);
+        reservation.setUser(user);
+        reservation.setStartDate(item.startDate());
+        reservation.setEndDate(item.endDate());
+        reservation.setComment(item.comment());
+        return reservation;
+    }
+}
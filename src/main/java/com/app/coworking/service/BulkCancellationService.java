@@ -0,0 +1,55 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.BulkCancelRequest;
+import com.app.coworking.dto.BulkCancelResult;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+// Массовая отмена (например, помещение выведено из эксплуатации): один DELETE ... RETURNING,
+// пакетная очистка кэша и одно агрегированное событие на всю операцию
+@Service
+public class BulkCancellationService {
+
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final ReservationCache reservationCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BulkCancellationService(ReservationJdbcRepository reservationJdbcRepository,
+                                   ReservationCache reservationCache,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.reservationJdbcRepository = reservationJdbcRepository;
+        this.reservationCache = reservationCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public BulkCancelResult cancelReservations(BulkCancelRequest request) {
+        if (request.workspaceId() == null && request.coworkingId() == null
+                && request.from() == null && request.to() == null) {
+            throw new InvalidArgumentException(
+                    "Specify a workspace, a coworking or a date range to cancel");
+        }
+        LocalDate from = request.from() != null ? request.from() : LocalDate.now();
+        if (request.to() != null && request.to().isBefore(from)) {
+            throw new InvalidArgumentException(ReservationService.INVALID_DATES_MESSAGE);
+        }
+
+        List<ReservationChange> cancelled = reservationJdbcRepository.deleteMatching(
+                request.workspaceId(), request.coworkingId(), from, request.to());
+        if (cancelled.isEmpty()) {
+            return new BulkCancelResult(0, List.of());
+        }
+        List<Long> ids = cancelled.stream().map(ReservationChange::reservationId).toList();
+        reservationCache.removeAll(ids);
+        eventPublisher.publishEvent(new ReservationChangedEvent(cancelled));
+        return new BulkCancelResult(ids.size(), ids);
+    }
+}
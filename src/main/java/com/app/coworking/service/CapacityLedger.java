@@ -0,0 +1,38 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.model.Workspace;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Снимок занятости нескольких workspace в памяти для пакетных проверок.
+// Правило то же, что в ReservationService.checkAvailability: число пересечений < capacity.
+// Принятые брони добавляются в снимок, поэтому элементы одного пакета видят друг друга.
+final class CapacityLedger {
+
+    private final Map<Long, List<ReservedRange>> rangesByWorkspace = new HashMap<>();
+
+    CapacityLedger(Collection<ReservedRange> existing) {
+        for (ReservedRange range : existing) {
+            rangesByWorkspace.computeIfAbsent(range.workspaceId(), id -> new ArrayList<>())
+                    .add(range);
+        }
+    }
+
+    boolean tryReserve(Workspace workspace, LocalDate start, LocalDate end) {
+        List<ReservedRange> ranges = rangesByWorkspace
+                .computeIfAbsent(workspace.getId(), id -> new ArrayList<>());
+        long overlapping = ranges.stream()
+                .filter(range -> range.overlaps(start, end))
+                .count();
+        if (overlapping >= ReservationService.capacityLimit(workspace)) {
+            return false;
+        }
+        ranges.add(new ReservedRange(workspace.getId(), start, end));
+        return true;
+    }
+}
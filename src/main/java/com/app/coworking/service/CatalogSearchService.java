@@ -0,0 +1,40 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.SearchHit;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.CatalogSearchJdbcRepository;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CatalogSearchService {
+
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private final CatalogSearchJdbcRepository catalogSearchJdbcRepository;
+
+    public CatalogSearchService(CatalogSearchJdbcRepository catalogSearchJdbcRepository) {
+        this.catalogSearchJdbcRepository = catalogSearchJdbcRepository;
+    }
+
+    // Запрос в синтаксисе websearch_to_tsquery: слова, "фраза", -исключение, or
+    public KeysetPage<SearchHit> search(String query, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidArgumentException("Search query is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidArgumentException(
+                    "Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageSize = KeysetPaging.pageSize(size);
+        // в курсоре достаточно ключа сортировки, остальные поля не используются
+        SearchHit after = cursor == null ? null : KeysetPaging.decode(cursor, parts ->
+                new SearchHit(SearchHit.Kind.valueOf(parts[1]), Long.valueOf(parts[2]), null,
+                        null, Float.parseFloat(parts[0])));
+        List<SearchHit> fetched = catalogSearchJdbcRepository.search(query.trim(), after,
+                pageSize + 1);
+        return KeysetPaging.page(fetched, pageSize,
+                hit -> KeysetPaging.encode(hit.rank(), hit.kind(), hit.id()));
+    }
+}
@@ -0,0 +1,230 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.CatalogCoworking;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.WorkspaceFilter;
+import com.app.coworking.dto.WorkspaceView;
+import com.app.coworking.event.CatalogChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Каталог коворкингов и рабочих мест для чтения. Читатели берут текущий снимок из volatile
+// поля без блокировок; запись после коммита перечитывает из БД только затронутые строки
+// и публикует новый снимок (copy-on-write). Периодическая полная перезагрузка подхватывает
+// изменения, сделанные в обход приложения или другими экземплярами
+@Service
+public class CatalogService {
+
+    private final CoworkingRepository coworkingRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final ObjectMapper objectMapper;
+    private final Object rebuildLock = new Object();
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogService(CoworkingRepository coworkingRepository,
+                          WorkspaceRepository workspaceRepository,
+                          ObjectMapper objectMapper) {
+        this.coworkingRepository = coworkingRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<CatalogCoworking> getCoworkings() {
+        return snapshot().coworkings();
+    }
+
+    public CatalogCoworking getCoworking(Long id) {
+        CatalogCoworking coworking = snapshot().coworking(id);
+        if (coworking == null) {
+            throw new ResourceNotFoundException("Coworking not found with id " + id);
+        }
+        return coworking;
+    }
+
+    // *Json — тот же ответ, уже сериализованный в UTF-8: повторное чтение не трогает Jackson
+    public byte[] getCoworkingsJson() {
+        CatalogSnapshot current = snapshot();
+        return current.coworkingListJson(() -> serialize(current.coworkings()));
+    }
+
+    public byte[] getCoworkingJson(Long id) {
+        CatalogSnapshot current = snapshot();
+        if (current.coworking(id) == null) {
+            throw new ResourceNotFoundException("Coworking not found with id " + id);
+        }
+        return current.coworkingJson(id, key -> serialize(current.coworking(key)));
+    }
+
+    public KeysetPage<CatalogCoworking> getCoworkingsPage(String cursor, Integer size) {
+        int pageSize = KeysetPaging.pageSize(size);
+        return page(snapshot().coworkings(), CatalogCoworking::id, decodeId(cursor), pageSize);
+    }
+
+    public List<WorkspaceView> getWorkspaces() {
+        return snapshot().workspaces();
+    }
+
+    public WorkspaceView getWorkspace(Long id) {
+        WorkspaceView workspace = snapshot().workspace(id);
+        if (workspace == null) {
+            throw new ResourceNotFoundException("Workspace not found with id " + id);
+        }
+        return workspace;
+    }
+
+    public byte[] getWorkspacesJson() {
+        CatalogSnapshot current = snapshot();
+        return current.workspaceListJson(() -> serialize(current.workspaces()));
+    }
+
+    public byte[] getWorkspaceJson(Long id) {
+        CatalogSnapshot current = snapshot();
+        if (current.workspace(id) == null) {
+            throw new ResourceNotFoundException("Workspace not found with id " + id);
+        }
+        return current.workspaceJson(id, key -> serialize(current.workspace(key)));
+    }
+
+    public KeysetPage<WorkspaceView> getWorkspacesPage(Long coworkingId, String cursor,
+                                                       Integer size) {
+        int pageSize = KeysetPaging.pageSize(size);
+        CatalogSnapshot current = snapshot();
+        List<WorkspaceView> source = coworkingId == null ? current.workspaces()
+                : current.workspacesOf(coworkingId);
+        return page(source, WorkspaceView::id, decodeId(cursor), pageSize);
+    }
+
+    // Начинаем с самого узкого готового индекса (коворкинг, затем тип), остальное фильтруем
+    public KeysetPage<WorkspaceView> searchWorkspaces(WorkspaceFilter filter, String cursor,
+                                                      Integer size) {
+        if (filter.minCapacity() != null && filter.maxCapacity() != null
+                && filter.maxCapacity() < filter.minCapacity()) {
+            throw new InvalidArgumentException("Max capacity must be same or above min capacity");
+        }
+        int pageSize = KeysetPaging.pageSize(size);
+        Long afterId = decodeId(cursor);
+        CatalogSnapshot current = snapshot();
+        List<WorkspaceView> source = filter.coworkingId() != null
+                ? current.workspacesOf(filter.coworkingId())
+                : filter.type() != null ? current.workspacesOf(filter.type())
+                : current.workspaces();
+        String prefix = filter.namePrefix() == null || filter.namePrefix().isBlank() ? null
+                : filter.namePrefix().toLowerCase(Locale.ROOT);
+
+        List<WorkspaceView> fetched = new ArrayList<>(pageSize + 1);
+        for (int i = firstAfter(source, WorkspaceView::id, afterId);
+                i < source.size() && fetched.size() <= pageSize; i++) {
+            WorkspaceView workspace = source.get(i);
+            if (matches(workspace, filter, prefix)) {
+                fetched.add(workspace);
+            }
+        }
+        return KeysetPaging.page(fetched, pageSize, item -> KeysetPaging.encode(item.id()));
+    }
+
+    private static boolean matches(WorkspaceView workspace, WorkspaceFilter filter,
+                                   String prefix) {
+        return (filter.type() == null || workspace.type() == filter.type())
+                && (filter.minCapacity() == null || workspace.capacity() >= filter.minCapacity())
+                && (filter.maxCapacity() == null || workspace.capacity() <= filter.maxCapacity())
+                && (prefix == null
+                        || workspace.name().toLowerCase(Locale.ROOT).startsWith(prefix));
+    }
+
+    CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval:PT5M}",
+            initialDelayString = "${catalog.refresh-interval:PT5M}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    CatalogSnapshot reload() {
+        synchronized (rebuildLock) {
+            long version = snapshot == null ? 1 : snapshot.version() + 1;
+            CatalogSnapshot fresh = CatalogSnapshot.of(version,
+                    coworkingRepository.findAllViews(), workspaceRepository.findAllViews());
+            snapshot = fresh;
+            return fresh;
+        }
+    }
+
+    // После коммита: перечитанные строки уже видны, откат до снимка не дойдет
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        synchronized (rebuildLock) {
+            CatalogSnapshot current = snapshot;
+            if (current == null || event.full()) {
+                reload();
+                return;
+            }
+            snapshot = current.withChanges(current.version() + 1,
+                    event.coworkingIds(),
+                    event.coworkingIds().isEmpty() ? List.of()
+                            : coworkingRepository.findViewsByIds(event.coworkingIds()),
+                    event.workspaceIds(),
+                    event.workspaceIds().isEmpty() ? List.of()
+                            : workspaceRepository.findViewsByIds(event.workspaceIds()));
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize catalog response", e);
+        }
+    }
+
+    private static Long decodeId(String cursor) {
+        return cursor == null ? null
+                : KeysetPaging.decode(cursor, parts -> Long.valueOf(parts[0]));
+    }
+
+    private static <T> KeysetPage<T> page(List<T> source, Function<T, Long> idOf, Long afterId,
+                                          int pageSize) {
+        int from = firstAfter(source, idOf, afterId);
+        List<T> fetched = source.subList(from, Math.min(source.size(), from + pageSize + 1));
+        return KeysetPaging.page(fetched, pageSize,
+                item -> KeysetPaging.encode(idOf.apply(item)));
+    }
+
+    // Бинарный поиск первого элемента с id > afterId в списке, отсортированном по id
+    static <T> int firstAfter(List<T> source, Function<T, Long> idOf, Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (idOf.apply(source.get(mid)) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,173 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.CatalogCoworking;
+import com.app.coworking.dto.CoworkingView;
+import com.app.coworking.dto.WorkspaceView;
+import com.app.coworking.model.enums.WorkspaceType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Неизменяемый снимок каталога. Все списки отсортированы по id, поэтому keyset-пагинация
+// и фильтры работают по ним напрямую. Изменения не правят снимок, а строят новый
+final class CatalogSnapshot {
+
+    private static final Comparator<WorkspaceView> BY_ID = Comparator.comparing(WorkspaceView::id);
+
+    private final long version;
+    private final Map<Long, CoworkingView> coworkingViews;
+    private final Map<Long, CatalogCoworking> coworkings;
+    private final List<CatalogCoworking> coworkingList;
+    private final Map<Long, WorkspaceView> workspaces;
+    private final List<WorkspaceView> workspaceList;
+    private final Map<Long, List<WorkspaceView>> workspacesByCoworking;
+    private final Map<WorkspaceType, List<WorkspaceView>> workspacesByType;
+
+    // Готовый JSON живет вместе со снимком и считается при первом чтении. Новый снимок
+    // получает байты только незатронутых изменением строк, поэтому отдельной инвалидации нет
+    private final Map<Long, byte[]> coworkingJson;
+    private final Map<Long, byte[]> workspaceJson;
+    private volatile byte[] coworkingListJson;
+    private volatile byte[] workspaceListJson;
+
+    private CatalogSnapshot(long version, Map<Long, CoworkingView> coworkingViews,
+                            Map<Long, WorkspaceView> workspaces,
+                            Map<Long, byte[]> coworkingJson, Map<Long, byte[]> workspaceJson) {
+        this.version = version;
+        this.coworkingJson = coworkingJson;
+        this.workspaceJson = workspaceJson;
+        this.coworkingViews = Collections.unmodifiableMap(coworkingViews);
+        this.workspaces = Collections.unmodifiableMap(workspaces);
+
+        List<WorkspaceView> sortedWorkspaces = new ArrayList<>(workspaces.values());
+        sortedWorkspaces.sort(BY_ID);
+        this.workspaceList = List.copyOf(sortedWorkspaces);
+
+        Map<Long, List<WorkspaceView>> byCoworking = new HashMap<>();
+        Map<WorkspaceType, List<WorkspaceView>> byType = new EnumMap<>(WorkspaceType.class);
+        for (WorkspaceView workspace : sortedWorkspaces) {
+            byCoworking.computeIfAbsent(workspace.coworkingId(), id -> new ArrayList<>())
+                    .add(workspace);
+            byType.computeIfAbsent(workspace.type(), type -> new ArrayList<>()).add(workspace);
+        }
+        byCoworking.replaceAll((id, list) -> List.copyOf(list));
+        byType.replaceAll((type, list) -> List.copyOf(list));
+        this.workspacesByCoworking = Collections.unmodifiableMap(byCoworking);
+        this.workspacesByType = Collections.unmodifiableMap(byType);
+
+        Map<Long, CatalogCoworking> catalogCoworkings = new HashMap<>();
+        List<CatalogCoworking> sortedCoworkings = new ArrayList<>(coworkingViews.size());
+        coworkingViews.values().stream()
+                .sorted(Comparator.comparing(CoworkingView::id))
+                .forEach(view -> {
+                    CatalogCoworking coworking = CatalogCoworking.of(view,
+                            byCoworking.getOrDefault(view.id(), List.of()));
+                    catalogCoworkings.put(view.id(), coworking);
+                    sortedCoworkings.add(coworking);
+                });
+        this.coworkings = Collections.unmodifiableMap(catalogCoworkings);
+        this.coworkingList = List.copyOf(sortedCoworkings);
+    }
+
+    static CatalogSnapshot of(long version, Collection<CoworkingView> coworkings,
+                              Collection<WorkspaceView> workspaces) {
+        Map<Long, CoworkingView> coworkingViews = new HashMap<>();
+        coworkings.forEach(view -> coworkingViews.put(view.id(), view));
+        Map<Long, WorkspaceView> workspaceViews = new HashMap<>();
+        workspaces.forEach(view -> workspaceViews.put(view.id(), view));
+        return new CatalogSnapshot(version, coworkingViews, workspaceViews,
+                new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    // requested*Ids — что перечитывали из БД; id, которого нет в loaded*, удален
+    CatalogSnapshot withChanges(long newVersion,
+                                Set<Long> requestedCoworkingIds,
+                                Collection<CoworkingView> loadedCoworkings,
+                                Set<Long> requestedWorkspaceIds,
+                                Collection<WorkspaceView> loadedWorkspaces) {
+        Map<Long, CoworkingView> nextCoworkings = new HashMap<>(coworkingViews);
+        nextCoworkings.keySet().removeAll(requestedCoworkingIds);
+        loadedCoworkings.forEach(view -> nextCoworkings.put(view.id(), view));
+        Map<Long, WorkspaceView> nextWorkspaces = new HashMap<>(workspaces);
+        nextWorkspaces.keySet().removeAll(requestedWorkspaceIds);
+        loadedWorkspaces.forEach(view -> nextWorkspaces.put(view.id(), view));
+
+        // JSON коворкинга включает его рабочие места — сбрасываем и старого, и нового владельца
+        Set<Long> staleCoworkings = new HashSet<>(requestedCoworkingIds);
+        requestedWorkspaceIds.stream().map(workspaces::get).filter(Objects::nonNull)
+                .forEach(view -> staleCoworkings.add(view.coworkingId()));
+        loadedWorkspaces.forEach(view -> staleCoworkings.add(view.coworkingId()));
+        Map<Long, byte[]> nextCoworkingJson = new ConcurrentHashMap<>(coworkingJson);
+        nextCoworkingJson.keySet().removeAll(staleCoworkings);
+        Map<Long, byte[]> nextWorkspaceJson = new ConcurrentHashMap<>(workspaceJson);
+        nextWorkspaceJson.keySet().removeAll(requestedWorkspaceIds);
+        return new CatalogSnapshot(newVersion, nextCoworkings, nextWorkspaces,
+                nextCoworkingJson, nextWorkspaceJson);
+    }
+
+    long version() {
+        return version;
+    }
+
+    CatalogCoworking coworking(Long id) {
+        return coworkings.get(id);
+    }
+
+    List<CatalogCoworking> coworkings() {
+        return coworkingList;
+    }
+
+    WorkspaceView workspace(Long id) {
+        return workspaces.get(id);
+    }
+
+    List<WorkspaceView> workspaces() {
+        return workspaceList;
+    }
+
+    List<WorkspaceView> workspacesOf(Long coworkingId) {
+        return workspacesByCoworking.getOrDefault(coworkingId, List.of());
+    }
+
+    List<WorkspaceView> workspacesOf(WorkspaceType type) {
+        return workspacesByType.getOrDefault(type, List.of());
+    }
+
+    byte[] coworkingJson(Long id, Function<Long, byte[]> serializer) {
+        return coworkingJson.computeIfAbsent(id, serializer);
+    }
+
+    byte[] workspaceJson(Long id, Function<Long, byte[]> serializer) {
+        return workspaceJson.computeIfAbsent(id, serializer);
+    }
+
+    // Гонка первых читателей безобидна: оба получат одинаковые байты
+    byte[] coworkingListJson(Supplier<byte[]> serializer) {
+        byte[] json = coworkingListJson;
+        if (json == null) {
+            json = serializer.get();
+            coworkingListJson = json;
+        }
+        return json;
+    }
+
+    byte[] workspaceListJson(Supplier<byte[]> serializer) {
+        byte[] json = workspaceListJson;
+        if (json == null) {
+            json = serializer.get();
+            workspaceListJson = json;
+        }
+        return json;
+    }
+}
@@ -1,13 +1,15 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.CoworkingCache;
+import com.app.coworking.event.CatalogChangedEvent;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
 import com.app.coworking.model.Coworking;
 import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.WorkspaceRepository;
 import jakarta.transaction.Transactional;
-import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 
@@ -16,11 +18,17 @@ public class CoworkingService {
 
     private final CoworkingRepository coworkingRepository;
     private final CoworkingCache coworkingCache;
+    private final WorkspaceRepository workspaceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CoworkingService(CoworkingRepository coworkingRepository,
-                            CoworkingCache coworkingCache) {
+                            CoworkingCache coworkingCache,
+                            WorkspaceRepository workspaceRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.coworkingRepository = coworkingRepository;
         this.coworkingCache = coworkingCache;
+        this.workspaceRepository = workspaceRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -36,11 +44,6 @@ public class CoworkingService {
         return coworking;
     }
 
-    @Transactional
-    public List<Coworking> getAllCoworkings() {
-        return coworkingRepository.findAll();
-    }
-
     @Transactional
     public Coworking createCoworking(Coworking coworking) {
 
@@ -61,6 +64,7 @@ public class CoworkingService {
 
         Coworking saved = coworkingRepository.save(coworking);
         coworkingCache.put(saved.getId(), saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.coworking(saved.getId()));
         return saved;
     }
 
@@ -97,18 +101,22 @@ public class CoworkingService {
 
         Coworking saved = coworkingRepository.save(existing);
         coworkingCache.put(saved.getId(), saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.coworking(saved.getId()));
         return saved;
     }
 
     @Transactional
     public void deleteCoworking(Long id) {
-        Coworking existing = getCoworkingById(id);
-        if (existing.getWorkspaces() != null && !existing.getWorkspaces().isEmpty()) {
+        // Проверяем в БД, а не по коллекции: объект из кэша мог устареть
+        if (workspaceRepository.existsByCoworkingId(id)) {
             throw new InvalidArgumentException("Cannot delete coworking with existing workspaces."
                     + " Delete workspaces first.");
         }
-        coworkingRepository.delete(existing);
+        if (coworkingRepository.deleteRowById(id) == 0) {
+            throw new ResourceNotFoundException("Coworking not found with id " + id);
+        }
         coworkingCache.remove(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.coworking(id));
     }
 
 }
@@ -0,0 +1,141 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.CoworkingSummary;
+import com.app.coworking.dto.CoworkingTypeAggregate;
+import com.app.coworking.event.CatalogChangedEvent;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Сводка по коворкингам строится одним GROUP BY coworking, type и кэшируется целиком.
+// Изменение рабочего места помечает только его коворкинг: при следующем чтении
+// перечитываются лишь помеченные. Читатели берут готовую сводку из volatile поля без
+// блокировок, пока нет непримененных изменений; пометка тоже не блокирует. Перечитывание
+// идет под отдельной блокировкой, так что запрос выполняет один поток, а остальные
+// читатели с теми же пометками ждут его результата
+@Service
+public class CoworkingSummaryService {
+
+    private final CoworkingRepository coworkingRepository;
+
+    private final Object refreshLock = new Object();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    // Счетчик событий: сводка помнит, сколько из них уже учтено
+    private final AtomicLong changes = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(Map<Long, CoworkingSummary> summaries, long appliedChanges) {
+    }
+
+    public CoworkingSummaryService(CoworkingRepository coworkingRepository) {
+        this.coworkingRepository = coworkingRepository;
+    }
+
+    public List<CoworkingSummary> getSummaries() {
+        return List.copyOf(summaries().values());
+    }
+
+    public CoworkingSummary getSummary(Long coworkingId) {
+        CoworkingSummary summary = summaries().get(coworkingId);
+        if (summary == null) {
+            throw new ResourceNotFoundException("Coworking not found with id " + coworkingId);
+        }
+        return summary;
+    }
+
+    // fallbackExecution — события из кода без транзакции тоже сбрасывают кэш.
+    // Пометка ставится до увеличения счетчика: увидевший счетчик увидит и пометку
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.full()) {
+            stale.set(true);
+        } else {
+            dirty.addAll(event.coworkingIds());
+        }
+        changes.incrementAndGet();
+    }
+
+    private Map<Long, CoworkingSummary> summaries() {
+        Snapshot current = snapshot;
+        if (current != null && current.appliedChanges() == changes.get()) {
+            return current.summaries();
+        }
+        return refresh();
+    }
+
+    private Map<Long, CoworkingSummary> refresh() {
+        synchronized (refreshLock) {
+            Snapshot current = snapshot;
+            long seen = changes.get();
+            if (current != null && current.appliedChanges() == seen) {
+                return current.summaries();
+            }
+            // пометки, пришедшие после чтения счетчика, останутся до следующего чтения
+            boolean full = stale.getAndSet(false) || current == null;
+            Set<Long> ids = new HashSet<>(dirty);
+            dirty.removeAll(ids);
+
+            Map<Long, CoworkingSummary> summaries;
+            if (full) {
+                summaries = new TreeMap<>(toSummaries(coworkingRepository.aggregateByType()));
+            } else {
+                summaries = new TreeMap<>(current.summaries());
+                Map<Long, CoworkingSummary> fresh = ids.isEmpty() ? Map.of()
+                        : toSummaries(coworkingRepository.aggregateByType(ids));
+                // коворкинга нет в ответе — он удален
+                for (Long id : ids) {
+                    CoworkingSummary summary = fresh.get(id);
+                    if (summary == null) {
+                        summaries.remove(id);
+                    } else {
+                        summaries.put(id, summary);
+                    }
+                }
+            }
+            Map<Long, CoworkingSummary> published = Collections.unmodifiableMap(summaries);
+            snapshot = new Snapshot(published, seen);
+            return published;
+        }
+    }
+
+    static Map<Long, CoworkingSummary> toSummaries(List<CoworkingTypeAggregate> rows) {
+        Map<Long, List<CoworkingTypeAggregate>> byCoworking = new LinkedHashMap<>();
+        for (CoworkingTypeAggregate row : rows) {
+            byCoworking.computeIfAbsent(row.coworkingId(), id -> new ArrayList<>())
+                    .add(row);
+        }
+        Map<Long, CoworkingSummary> result = new LinkedHashMap<>();
+        byCoworking.forEach((id, typeRows) -> {
+            Map<WorkspaceType, Long> byType = new EnumMap<>(WorkspaceType.class);
+            long workspaces = 0;
+            long capacity = 0;
+            for (CoworkingTypeAggregate row : typeRows) {
+                if (row.type() == null) {
+                    continue;
+                }
+                byType.put(row.type(), row.workspaces());
+                workspaces += row.workspaces();
+                capacity += row.capacity() == null ? 0 : row.capacity();
+            }
+            CoworkingTypeAggregate first = typeRows.get(0);
+            result.put(id, new CoworkingSummary(id, first.name(), first.address(), workspaces,
+                    capacity, byType));
+        });
+        return result;
+    }
+}
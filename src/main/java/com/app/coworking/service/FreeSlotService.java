@@ -0,0 +1,102 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.FreeSlot;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.springframework.stereotype.Service;
+
+// Поиск ближайших свободных окон одним проходом по отсортированным броням.
+// Правило то же, что в ReservationService.checkAvailability: окно подходит, пока число
+// броней, пересекающих его целиком, меньше capacityLimit (для OPEN_SPACE — capacity).
+// Окно скользит по дате начала; куча хранит даты окончания броней, пересекающих окно
+@Service
+public class FreeSlotService {
+
+    static final int DEFAULT_COUNT = 5;
+    static final int MAX_COUNT = 50;
+    static final int MAX_DAYS = 366;
+
+    private final ReservationRepository reservationRepository;
+    private final WorkspaceRepository workspaceRepository;
+
+    public FreeSlotService(ReservationRepository reservationRepository,
+                           WorkspaceRepository workspaceRepository) {
+        this.reservationRepository = reservationRepository;
+        this.workspaceRepository = workspaceRepository;
+    }
+
+    @Transactional
+    public List<FreeSlot> findFreeSlots(Long workspaceId, LocalDate from, int days,
+                                        Integer count) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new InvalidArgumentException("Days must be between 1 and " + MAX_DAYS);
+        }
+        int limit = count == null ? DEFAULT_COUNT : count;
+        if (limit < 1 || limit > MAX_COUNT) {
+            throw new InvalidArgumentException("Count must be between 1 and " + MAX_COUNT);
+        }
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Workspace not found with id " + workspaceId));
+        LocalDate start = from == null ? LocalDate.now() : from;
+        List<ReservedRange> ranges = reservationRepository
+                .findReservedRangesFrom(workspaceId, start);
+        return scan(ranges, start, days, limit, ReservationService.capacityLimit(workspace));
+    }
+
+    // ranges отсортированы по startDate; каждое окно — самое раннее в своем свободном промежутке.
+    // Бронь входит в окно [day, day + days - 1], когда ее начало не позже его конца,
+    // и выходит, когда ее конец раньше day
+    static List<FreeSlot> scan(List<ReservedRange> ranges, LocalDate from, int days, int count,
+                               int capacity) {
+        List<FreeSlot> slots = new ArrayList<>(count);
+        if (capacity < 1) {
+            return slots;
+        }
+        PriorityQueue<LocalDate> activeEnds = new PriorityQueue<>();
+        long lead = days - 1L;
+        LocalDate day = from;
+        LocalDate gapStart = null;
+        int next = 0;
+        while (slots.size() < count) {
+            LocalDate windowEnd = day.plusDays(lead);
+            while (next < ranges.size() && !ranges.get(next).startDate().isAfter(windowEnd)) {
+                activeEnds.add(ranges.get(next++).endDate());
+            }
+            while (!activeEnds.isEmpty() && activeEnds.peek().isBefore(day)) {
+                activeEnds.poll();
+            }
+            boolean free = activeEnds.size() < capacity;
+            if (free && gapStart == null) {
+                gapStart = day;
+            } else if (!free && gapStart != null) {
+                // последнее подходящее окно начиналось накануне
+                slots.add(new FreeSlot(gapStart, gapStart.plusDays(lead), windowEnd.minusDays(1)));
+                gapStart = null;
+            }
+
+            // следующее начало окна, при котором меняется их число: бронь входит в окно
+            // или день после конца брони
+            LocalDate nextStart = next < ranges.size()
+                    ? ranges.get(next).startDate().minusDays(lead) : null;
+            LocalDate nextRelease = activeEnds.isEmpty() ? null : activeEnds.peek().plusDays(1);
+            if (nextStart == null && nextRelease == null) {
+                // броней впереди нет — промежуток открыт до бесконечности
+                slots.add(new FreeSlot(gapStart, gapStart.plusDays(lead), null));
+                break;
+            }
+            day = nextStart == null || (nextRelease != null && nextRelease.isBefore(nextStart))
+                    ? nextRelease : nextStart;
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,320 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.AlreadyExistsException;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Групповой коммит создания броней (включается reservation.group-commit.enabled).
+// Запросы копятся до max-wait или max-batch, пачка проверяется по снимку занятости
+// и вставляется одним JDBC batch в одной транзакции; каждый запрос получает свой ответ.
+// Выключенный режим — прямой вызов ReservationService.createReservation
+@Service
+public class GroupCommitReservationService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(GroupCommitReservationService.class);
+
+    private static final long RESPONSE_TIMEOUT_SECONDS = 30;
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final UserRepository userRepository;
+    private final ReservationCache reservationCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final int maxBatch;
+    private final BlockingQueue<PendingReservation> queue;
+    private Thread committer;
+
+    // state: PENDING -> CLAIMED (взял коммиттер) или PENDING -> ABANDONED (вызывающий
+    // перестал ждать). Брошенный запрос коммиттер пропускает, поэтому он не будет записан
+    record PendingReservation(Long workspaceId, Long userId, Reservation reservation,
+                              CompletableFuture<Reservation> result, AtomicInteger state) {
+
+        private static final int PENDING = 0;
+        private static final int CLAIMED = 1;
+        private static final int ABANDONED = 2;
+
+        PendingReservation(Long workspaceId, Long userId, Reservation reservation) {
+            this(workspaceId, userId, reservation, new CompletableFuture<>(),
+                    new AtomicInteger(PENDING));
+        }
+
+        // вызывает только поток коммиттера, поэтому повторный claim безопасен
+        boolean claim() {
+            return state.compareAndSet(PENDING, CLAIMED) || state.get() == CLAIMED;
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(PENDING, ABANDONED);
+        }
+    }
+
+    public GroupCommitReservationService(
+            ReservationService reservationService,
+            ReservationRepository reservationRepository,
+            ReservationJdbcRepository reservationJdbcRepository,
+            WorkspaceRepository workspaceRepository,
+            UserRepository userRepository,
+            ReservationCache reservationCache,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${reservation.group-commit.enabled:false}") boolean enabled,
+            @Value("${reservation.group-commit.max-wait:5ms}") Duration maxWait,
+            @Value("${reservation.group-commit.max-batch:64}") int maxBatch,
+            @Value("${reservation.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+        this.reservationJdbcRepository = reservationJdbcRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.userRepository = userRepository;
+        this.reservationCache = reservationCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        committer = new Thread(this::run, "reservation-group-commit");
+        committer.setDaemon(true);
+        committer.start();
+        logger.info("Reservation group commit enabled: max batch {}, max wait {} us",
+                maxBatch, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos));
+    }
+
+    public Reservation createReservation(Long workspaceId, Long userId, Reservation reservation) {
+        if (!enabled) {
+            return reservationService.createReservation(workspaceId, userId, reservation);
+        }
+        PendingReservation pending = new PendingReservation(workspaceId, userId, reservation);
+        // очередь переполнена — не ждем, создаем обычной транзакцией
+        if (!queue.offer(pending)) {
+            return reservationService.createReservation(workspaceId, userId, reservation);
+        }
+        try {
+            return awaitResult(pending);
+        } catch (TimeoutException e) {
+            // запрос еще в очереди — снимаем его, бронь гарантированно не будет создана
+            if (pending.abandon()) {
+                throw new IllegalStateException("Timed out waiting for reservation commit", e);
+            }
+        }
+        // коммиттер уже взял запрос, и бронь может закоммититься: ждем настоящий ответ,
+        // а не отдаем ошибку. Второй таймаут возможен только при зависшей БД — тогда
+        // исход неизвестен, и сообщение говорит об этом прямо
+        try {
+            return awaitResult(pending);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Reservation commit outcome is unknown", e);
+        }
+    }
+
+    private static Reservation awaitResult(PendingReservation pending) throws TimeoutException {
+        try {
+            return pending.result().get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Reservation group commit failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.abandon();
+            throw new IllegalStateException("Interrupted while waiting for reservation commit", e);
+        }
+    }
+
+    private void run() {
+        List<PendingReservation> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    PendingReservation next = queue.poll(deadline - System.nanoTime(),
+                            TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                commitSafely(batch);
+                batch = new ArrayList<>(maxBatch);
+            }
+        }
+    }
+
+    // Поток коммиттера единственный: ничто из пачки не должно его остановить, а ни один
+    // запрос — остаться без ответа
+    private void commitSafely(List<PendingReservation> batch) {
+        try {
+            commitBatch(batch);
+        } catch (Throwable ex) {
+            logger.error("Reservation group commit of {} requests failed", batch.size(), ex);
+            IllegalStateException failure =
+                    new IllegalStateException("Reservation group commit failed", ex);
+            batch.forEach(pending -> pending.result().completeExceptionally(failure));
+        }
+    }
+
+    void commitBatch(List<PendingReservation> batch) {
+        List<PendingReservation> accepted = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                accepted.clear();
+                List<Reservation> saved = checkAndInsert(batch, accepted);
+                if (saved.isEmpty()) {
+                    return;
+                }
+                eventPublisher.publishEvent(new ReservationChangedEvent(saved.stream()
+                        .map(ReservationChange::created)
+                        .toList()));
+            });
+        } catch (RuntimeException ex) {
+            // пачка не закоммитилась — каждый запрос без ответа (и принятый, и не успевший
+            // пройти проверку) создаем отдельной транзакцией, чтобы ответы остались точными
+            logger.warn("Group commit of {} reservations failed, retrying one by one",
+                    batch.size(), ex);
+            batch.stream()
+                    .filter(pending -> !pending.result().isDone())
+                    .forEach(this::createDirectly);
+            return;
+        }
+        // в кэш — только после коммита: при откате пачки эти id в БД не появятся
+        accepted.forEach(pending -> {
+            Reservation reservation = pending.reservation();
+            reservationCache.put(reservation.getId(), reservation);
+            pending.result().complete(reservation);
+        });
+    }
+
+    private List<Reservation> checkAndInsert(List<PendingReservation> batch,
+                                             List<PendingReservation> accepted) {
+        Map<Long, Workspace> workspaces = workspaceRepository.findAllById(batch.stream()
+                        .map(PendingReservation::workspaceId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Workspace::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(batch.stream()
+                        .map(PendingReservation::userId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        LocalDate from = batch.stream().map(pending -> pending.reservation().getStartDate())
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = batch.stream().map(pending -> pending.reservation().getEndDate())
+                .max(Comparator.naturalOrder()).orElseThrow();
+        Set<Long> workspaceIds = workspaces.keySet();
+        CapacityLedger ledger = new CapacityLedger(workspaceIds.isEmpty() ? List.of()
+                : reservationRepository.findReservedRanges(workspaceIds, from, to));
+
+        List<Reservation> toInsert = new ArrayList<>(batch.size());
+        for (PendingReservation pending : batch) {
+            if (!pending.claim()) {
+                continue;
+            }
+            Reservation reservation = pending.reservation();
+            Workspace workspace = workspaces.get(pending.workspaceId());
+            User user = users.get(pending.userId());
+            RuntimeException rejection = null;
+            if (workspace == null) {
+                rejection = new ResourceNotFoundException(
+                        "Workspace not found with id " + pending.workspaceId());
+            } else if (user == null) {
+                rejection = new ResourceNotFoundException(
+                        "User not found with id " + pending.userId());
+            } else if (reservation.getEndDate().isBefore(reservation.getStartDate())) {
+                rejection = new InvalidArgumentException(ReservationService.INVALID_DATES_MESSAGE);
+            } else if (!ledger.tryReserve(workspace, reservation.getStartDate(),
+                    reservation.getEndDate())) {
+                rejection = new AlreadyExistsException(
+                        ReservationService.unavailableMessage(workspace));
+            }
+            if (rejection != null) {
+                pending.result().completeExceptionally(rejection);
+                continue;
+            }
+            reservation.setWorkspace(workspace);
+            reservation.setUser(user);
+            toInsert.add(reservation);
+            accepted.add(pending);
+        }
+        reservationJdbcRepository.insertBatch(toInsert);
+        return toInsert;
+    }
+
+    private void createDirectly(PendingReservation pending) {
+        if (!pending.claim()) {
+            return;
+        }
+        try {
+            Reservation reservation = pending.reservation();
+            reservation.setId(null);
+            pending.result().complete(reservationService.createReservation(
+                    pending.workspaceId(), pending.userId(), reservation));
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (committer == null) {
+            return;
+        }
+        committer.interrupt();
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingReservation> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::createDirectly);
+    }
+}
@@ -0,0 +1,87 @@
+package com.app.coworking.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Хешированное колесо таймеров: schedule/cancel за O(1), тик обходит только один слот.
+// Таймер с дедлайном дальше одного оборота просто ждет в слоте нужное число оборотов.
+final class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final Set<Long>[] slots;
+    private final Map<Long, Long> deadlineTicks = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new HashSet<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    synchronized void schedule(Long id, long deadlineMillis) {
+        cancel(id);
+        // уже истекшие таймеры срабатывают на ближайшем тике
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        deadlineTicks.put(id, deadlineTick);
+        slots[slotOf(deadlineTick)].add(id);
+    }
+
+    synchronized void cancel(Long id) {
+        Long deadlineTick = deadlineTicks.remove(id);
+        if (deadlineTick != null) {
+            slots[slotOf(deadlineTick)].remove(id);
+        }
+    }
+
+    // Продвигает колесо до nowMillis и возвращает истекшие id
+    synchronized List<Long> advance(long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick - currentTick >= slots.length) {
+            // пропущен целый оборот (например, после паузы) — дешевле проверить все таймеры
+            deadlineTicks.entrySet().removeIf(entry -> {
+                if (entry.getValue() <= targetTick) {
+                    slots[slotOf(entry.getValue())].remove(entry.getKey());
+                    expired.add(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+            currentTick = targetTick;
+            return expired;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            Set<Long> slot = slots[slotOf(currentTick)];
+            slot.removeIf(id -> {
+                if (deadlineTicks.get(id) <= currentTick) {
+                    deadlineTicks.remove(id);
+                    expired.add(id);
+                    return true;
+                }
+                return false;
+            });
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return deadlineTicks.size();
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
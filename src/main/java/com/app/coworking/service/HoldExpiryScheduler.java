@@ -0,0 +1,82 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.HoldExpiration;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Истечение HOLD-броней: один поток крутит колесо таймеров, без задачи на каждую бронь
+// и без периодического опроса БД. После рестарта таймеры восстанавливаются из reservations.
+@Component
+public class HoldExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryScheduler.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final HashedTimingWheel wheel =
+            new HashedTimingWheel(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    private final ScheduledExecutorService ticker =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "hold-expiry-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public HoldExpiryScheduler(ReservationService reservationService,
+                               ReservationRepository reservationRepository) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+    }
+
+    public void schedule(Long reservationId, Instant expiresAt) {
+        wheel.schedule(reservationId, expiresAt.toEpochMilli());
+    }
+
+    public void cancel(Long reservationId) {
+        wheel.cancel(reservationId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<HoldExpiration> holds = reservationRepository.findHoldExpirations(
+                ReservationStatus.HOLD);
+        holds.forEach(hold -> schedule(hold.reservationId(), hold.expiresAt()));
+        logger.info("Recovered {} reservation holds", holds.size());
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> expired = reservationService.expireHolds(due);
+            logger.info("Expired reservation holds: {}", expired);
+        } catch (RuntimeException ex) {
+            // повторим на следующем тике
+            logger.error("Failed to expire reservation holds {}", due, ex);
+            long retryAt = System.currentTimeMillis() + TICK_MILLIS;
+            due.forEach(id -> wheel.schedule(id, retryAt));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,136 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.IdempotencyCache;
+import com.app.coworking.dto.StoredResponse;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.model.IdempotencyRecord;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ReservationService reservationService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public IdempotencyService(ReservationService reservationService,
+                              IdempotencyRecordRepository idempotencyRecordRepository,
+                              IdempotencyCache idempotencyCache,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:24h}") Duration ttl) {
+        this.reservationService = reservationService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    // Повтор с тем же ключом получает исходный ответ без повторной транзакции.
+    // Ответ пишется в idempotency_keys в той же транзакции, что и бронь, поэтому
+    // параллельный дубль (в том числе на другом узле) ждет строку на первичном ключе
+    // и откатывается: живой ключ не перезаписывается, перезаписывается только истекший.
+    public StoredResponse createReservation(String key, Long workspaceId, Long userId,
+                                            Reservation reservation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidArgumentException("Idempotency-Key must be 1 to "
+                    + MAX_KEY_LENGTH + " characters long");
+        }
+        String requestHash = hash(workspaceId, userId, reservation);
+        Optional<StoredResponse> replay = findStored(key, requestHash);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        try {
+            StoredResponse response = transactionTemplate.execute(status -> {
+                Reservation created = reservationService.createReservation(
+                        workspaceId, userId, reservation);
+                byte[] body = serialize(created);
+                Instant now = Instant.now();
+                if (idempotencyRecordRepository.insert(key, requestHash,
+                        HttpStatus.CREATED.value(), body, now, now.minus(ttl)) == 0) {
+                    // живой ключ уже записан другим запросом — откатываем бронь
+                    throw new DataIntegrityViolationException(
+                            "Idempotency-Key is already stored: " + key);
+                }
+                return new StoredResponse(requestHash, HttpStatus.CREATED.value(), body);
+            });
+            idempotencyCache.put(key, response, System.currentTimeMillis());
+            return response;
+        } catch (DataIntegrityViolationException ex) {
+            // ключ успел занять параллельный запрос — отдаем его результат
+            return findStored(key, requestHash).orElseThrow(() -> ex);
+        }
+    }
+
+    private Optional<StoredResponse> findStored(String key, String requestHash) {
+        StoredResponse cached = idempotencyCache.get(key);
+        if (cached == null) {
+            cached = idempotencyRecordRepository.findById(key)
+                    .filter(record -> record.getCreatedAt().isAfter(Instant.now().minus(ttl)))
+                    .map(record -> {
+                        StoredResponse stored = new StoredResponse(record.getRequestHash(),
+                                record.getStatusCode(), record.getResponseBody());
+                        idempotencyCache.put(key, stored,
+                                record.getCreatedAt().toEpochMilli());
+                        return stored;
+                    })
+                    .orElse(null);
+        }
+        if (cached != null && !cached.requestHash().equals(requestHash)) {
+            throw new InvalidArgumentException(
+                    "Idempotency-Key was already used for a different request");
+        }
+        return Optional.ofNullable(cached);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+    }
+
+    private byte[] serialize(Reservation reservation) {
+        try {
+            return objectMapper.writeValueAsBytes(reservation);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize reservation response", e);
+        }
+    }
+
+    private static String hash(Long workspaceId, Long userId, Reservation reservation) {
+        String canonical = workspaceId + "|" + userId + "|" + reservation.getStartDate()
+                + "|" + reservation.getEndDate() + "|" + reservation.getComment();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(
+                    digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
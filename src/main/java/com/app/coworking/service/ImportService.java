@@ -0,0 +1,325 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.ImportEntity;
+import com.app.coworking.dto.ImportFormat;
+import com.app.coworking.dto.ImportReport;
+import com.app.coworking.dto.ImportRowError;
+import com.app.coworking.event.CatalogChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.model.Coworking;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.Role;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.ImportStagingJdbcRepository;
+import com.app.coworking.repository.ImportStagingJdbcRepository.StagedRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Массовый импорт из потока CSV/NDJSON. Файл читается пачками по import.chunk-size строк:
+// пачка валидируется параллельно (Bean Validation, разбор enum/чисел, BCrypt паролей)
+// и сразу уходит COPY в staging вместе с ошибками строк — в памяти только текущая пачка.
+// Пока клиент загружает файл, транзакция не открыта. Дубликаты внутри файла, уникальность
+// против БД и перенос проверяются в конце одной короткой транзакцией по всей staging:
+// отчет либо целиком отражает загруженное, либо ничего
+@Service
+public class ImportService {
+
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+    };
+
+    private final ImportStagingJdbcRepository stagingRepository;
+    private final Validator validator;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final ForkJoinPool validationPool;
+
+    private record RawRow(long row, Map<String, String> values, String error) {
+    }
+
+    public ImportService(ImportStagingJdbcRepository stagingRepository,
+                         Validator validator,
+                         BCryptPasswordEncoder passwordEncoder,
+                         ObjectMapper objectMapper,
+                         TransactionTemplate transactionTemplate,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${import.chunk-size:2000}") int chunkSize,
+                         @Value("${import.max-reported-errors:1000}") int maxReportedErrors,
+                         @Value("${import.validation-parallelism:4}") int parallelism) {
+        this.stagingRepository = stagingRepository;
+        this.validator = validator;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.validationPool = new ForkJoinPool(parallelism);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareStaging() {
+        stagingRepository.createTablesIfNotExist();
+    }
+
+    public ImportReport importRows(ImportEntity entity, ImportFormat format, InputStream in) {
+        UUID importId = UUID.randomUUID();
+        try {
+            long rows = stage(entity, format, in, importId);
+            return transactionTemplate.execute(status -> apply(entity, importId, rows));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import payload", e);
+        } finally {
+            stagingRepository.deleteStaging(entity, importId);
+        }
+    }
+
+    // Каждый COPY — отдельный автокоммит: соединение берется из пула только на время пачки
+    private long stage(ImportEntity entity, ImportFormat format, InputStream in, UUID importId)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowSource source = format == ImportFormat.CSV
+                ? new CsvRowSource(new CsvRecordReader(reader))
+                : new NdjsonRowSource(reader);
+
+        long rows = 0;
+        List<RawRow> chunk;
+        while (!(chunk = source.nextChunk(chunkSize)).isEmpty()) {
+            rows += chunk.size();
+            List<RawRow> batch = chunk;
+            List<StagedRow> staged = validationPool.submit(() -> batch.parallelStream()
+                    .map(row -> validate(entity, row))
+                    .toList()).join();
+            stagingRepository.copyIn(entity, importId, staged);
+        }
+        return rows;
+    }
+
+    private ImportReport apply(ImportEntity entity, UUID importId, long rows) {
+        stagingRepository.rejectDuplicates(entity, importId);
+        stagingRepository.rejectConflicts(entity, importId);
+        int imported = stagingRepository.insertFromStaging(entity, importId);
+        if (imported > 0 && entity != ImportEntity.USERS) {
+            // id вставленных строк не известны — справочник перечитывается целиком
+            eventPublisher.publishEvent(CatalogChangedEvent.everything());
+        }
+
+        long rejected = stagingRepository.countErrors(entity, importId);
+        List<ImportRowError> errors = rejected == 0 ? List.of()
+                : stagingRepository.findErrors(entity, importId, maxReportedErrors);
+        return new ImportReport(entity.name().toLowerCase(Locale.ROOT), rows, imported,
+                rejected, errors, rejected > maxReportedErrors);
+    }
+
+    private StagedRow validate(ImportEntity entity, RawRow raw) {
+        if (raw.error() != null) {
+            return new StagedRow(raw.row(), null, raw.error());
+        }
+        try {
+            Map<String, String> values = raw.values();
+            List<String> staged = switch (entity) {
+                case COWORKINGS -> coworkingValues(values);
+                case WORKSPACES -> workspaceValues(values);
+                case USERS -> userValues(values);
+            };
+            return new StagedRow(raw.row(), staged, null);
+        } catch (InvalidArgumentException e) {
+            return new StagedRow(raw.row(), null, e.getMessage());
+        }
+    }
+
+    private List<String> coworkingValues(Map<String, String> values) {
+        Coworking coworking = new Coworking();
+        coworking.setName(values.get("name"));
+        coworking.setAddress(values.get("address"));
+        coworking.setEmail(values.get("email"));
+        coworking.setPhoneNumber(values.get("phoneNumber"));
+        coworking.setDescription(values.get("description"));
+        checkConstraints(coworking);
+        return Arrays.asList(coworking.getName(), coworking.getAddress(),
+                coworking.getEmail(), coworking.getPhoneNumber(), coworking.getDescription());
+    }
+
+    private List<String> workspaceValues(Map<String, String> values) {
+        Long coworkingId = parseLong("coworkingId", values.get("coworkingId"));
+        if (coworkingId == null) {
+            throw new InvalidArgumentException("coworkingId: Coworking id is required");
+        }
+        Workspace workspace = new Workspace();
+        workspace.setName(values.get("name"));
+        workspace.setType(parseEnum(WorkspaceType.class, "type", values.get("type")));
+        workspace.setCapacity(parseInteger("capacity", values.get("capacity")));
+        workspace.setDescription(values.get("description"));
+        checkConstraints(workspace);
+        return Arrays.asList(String.valueOf(coworkingId), workspace.getName(),
+                workspace.getType().name(), String.valueOf(workspace.getCapacity()),
+                workspace.getDescription());
+    }
+
+    private List<String> userValues(Map<String, String> values) {
+        User user = new User();
+        user.setEmail(values.get("email"));
+        user.setPassword(values.get("password"));
+        user.setFirstName(values.get("firstName"));
+        user.setLastName(values.get("lastName"));
+        user.setRole(parseEnum(Role.class, "role", values.get("role")));
+        checkConstraints(user);
+        // хеширование — самая дорогая часть импорта пользователей, поэтому оно здесь,
+        // в параллельной валидации, а не при вставке
+        return List.of(user.getEmail(), passwordEncoder.encode(user.getPassword()),
+                user.getFirstName(), user.getLastName(), user.getRole().name());
+    }
+
+    private <T> void checkConstraints(T entity) {
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new InvalidArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException(field + ": Unknown value '" + value + "'");
+        }
+    }
+
+    private static Long parseLong(String field, String value) {
+        try {
+            return value == null ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException(field + ": Not a number '" + value + "'");
+        }
+    }
+
+    private static Integer parseInteger(String field, String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException(field + ": Not a number '" + value + "'");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdown();
+    }
+
+    private interface RowSource {
+        List<RawRow> nextChunk(int size) throws IOException;
+    }
+
+    // Первая запись — заголовок с именами полей как в JSON сущности (phoneNumber, coworkingId)
+    private static final class CsvRowSource implements RowSource {
+
+        private final CsvRecordReader reader;
+        private List<String> header;
+        private long row;
+
+        CsvRowSource(CsvRecordReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public List<RawRow> nextChunk(int size) throws IOException {
+            if (header == null) {
+                header = reader.next();
+                if (header == null) {
+                    throw new InvalidArgumentException("CSV header is missing");
+                }
+                header = header.stream().map(String::trim).toList();
+            }
+            List<RawRow> chunk = new ArrayList<>(size);
+            List<String> fields;
+            while (chunk.size() < size && (fields = reader.next()) != null) {
+                if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                    continue;
+                }
+                row++;
+                if (fields.size() != header.size()) {
+                    chunk.add(new RawRow(row, null, "Expected " + header.size()
+                            + " fields but got " + fields.size()));
+                    continue;
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    values.put(header.get(i), fields.get(i).isEmpty() ? null : fields.get(i));
+                }
+                chunk.add(new RawRow(row, values, null));
+            }
+            return chunk;
+        }
+    }
+
+    // Одна JSON-запись на строку; битая строка становится ошибкой строки, а не всего импорта
+    private final class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long row;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public List<RawRow> nextChunk(int size) throws IOException {
+            List<RawRow> chunk = new ArrayList<>(size);
+            String line;
+            while (chunk.size() < size && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                try {
+                    Map<String, String> values = new HashMap<>();
+                    objectMapper.readValue(line, ROW_TYPE).forEach((key, value) ->
+                            values.put(key, value == null ? null : String.valueOf(value)));
+                    chunk.add(new RawRow(row, values, null));
+                } catch (JsonProcessingException e) {
+                    chunk.add(new RawRow(row, null, "Malformed JSON: "
+                            + e.getOriginalMessage()));
+                }
+            }
+            return chunk;
+        }
+    }
+}
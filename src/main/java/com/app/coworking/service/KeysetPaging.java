@@ -0,0 +1,67 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.exception.InvalidArgumentException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+
+// Курсор — непрозрачная для клиента base64url-строка с ключом последней отданной строки.
+// Следующая страница начинается строго после него, поэтому ее стоимость не зависит от глубины.
+final class KeysetPaging {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetPaging() {
+    }
+
+    static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1 || requested > MAX_PAGE_SIZE) {
+            throw new InvalidArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return requested;
+    }
+
+    // На одну строку больше страницы — чтобы узнать, есть ли следующая, без COUNT
+    static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    static <T> KeysetPage<T> page(List<T> fetched, int pageSize, Function<T, String> cursorOf) {
+        if (fetched.size() <= pageSize) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, pageSize);
+        return new KeysetPage<>(List.copyOf(items), cursorOf.apply(items.get(pageSize - 1)));
+    }
+
+    static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (Object part : parts) {
+            if (!raw.isEmpty()) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static <T> T decode(String cursor, Function<String[], T> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return parser.apply(raw.split("\\" + SEPARATOR, -1));
+        } catch (RuntimeException e) {
+            throw new InvalidArgumentException("Invalid cursor");
+        }
+    }
+}
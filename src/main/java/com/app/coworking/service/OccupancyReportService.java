@@ -0,0 +1,97 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.BookedDays;
+import com.app.coworking.dto.UtilizationRow;
+import com.app.coworking.dto.WorkspaceCapacity;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+
+// Отчеты по загрузке читают только daily_occupancy и справочник рабочих мест
+@Service
+public class OccupancyReportService {
+
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final CoworkingRepository coworkingRepository;
+
+    public OccupancyReportService(DailyOccupancyRepository dailyOccupancyRepository,
+                                  WorkspaceRepository workspaceRepository,
+                                  CoworkingRepository coworkingRepository) {
+        this.dailyOccupancyRepository = dailyOccupancyRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.coworkingRepository = coworkingRepository;
+    }
+
+    // coworkingId == null — по всем коворкингам
+    @Transactional
+    public List<UtilizationRow> getUtilizationByType(Long coworkingId, LocalDate from,
+                                                     LocalDate to) {
+        long days = countDays(from, to);
+        List<WorkspaceCapacity> workspaces = coworkingId == null
+                ? workspaceRepository.findAllCapacities()
+                : findCoworkingWorkspaces(coworkingId);
+        Map<Long, Long> booked = bookedDays(coworkingId, from, to);
+
+        Map<WorkspaceType, long[]> totals = new EnumMap<>(WorkspaceType.class);
+        for (WorkspaceCapacity workspace : workspaces) {
+            long[] total = totals.computeIfAbsent(workspace.type(), type -> new long[2]);
+            total[0] += booked.getOrDefault(workspace.id(), 0L);
+            total[1] += days * ReservationService.capacityLimit(workspace.type(),
+                    workspace.capacity());
+        }
+        List<UtilizationRow> rows = new ArrayList<>();
+        totals.forEach((type, total) -> rows.add(row(null, type.name(), total[0], total[1])));
+        return rows;
+    }
+
+    @Transactional
+    public List<UtilizationRow> getUtilizationByWorkspace(Long coworkingId, LocalDate from,
+                                                          LocalDate to) {
+        long days = countDays(from, to);
+        List<WorkspaceCapacity> workspaces = findCoworkingWorkspaces(coworkingId);
+        Map<Long, Long> booked = bookedDays(coworkingId, from, to);
+        return workspaces.stream()
+                .map(workspace -> row(workspace.id(), workspace.name(),
+                        booked.getOrDefault(workspace.id(), 0L),
+                        days * ReservationService.capacityLimit(workspace.type(),
+                                workspace.capacity())))
+                .toList();
+    }
+
+    private List<WorkspaceCapacity> findCoworkingWorkspaces(Long coworkingId) {
+        if (!coworkingRepository.existsById(coworkingId)) {
+            throw new ResourceNotFoundException("Coworking not found with id " + coworkingId);
+        }
+        return workspaceRepository.findCapacitiesByCoworkingId(coworkingId);
+    }
+
+    private Map<Long, Long> bookedDays(Long coworkingId, LocalDate from, LocalDate to) {
+        return dailyOccupancyRepository.sumBookedDays(coworkingId, from, to).stream()
+                .collect(Collectors.toMap(BookedDays::workspaceId, BookedDays::bookedDays));
+    }
+
+    private static long countDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidArgumentException(ReservationService.INVALID_DATES_MESSAGE);
+        }
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+
+    private static UtilizationRow row(Long id, String name, long bookedDays, long capacityDays) {
+        double utilization = capacityDays == 0 ? 0 : (double) bookedDays / capacityDays;
+        return new UtilizationRow(id, name, bookedDays, capacityDays, utilization);
+    }
+}
@@ -0,0 +1,128 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.RollupRebuildResult;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyJdbcRepository;
+import com.app.coworking.repository.DailyOccupancyJdbcRepository.DeltaKey;
+import com.app.coworking.repository.WorkspaceRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Поддерживает daily_occupancy: каждое изменение брони превращается в дельты по дням,
+// которые применяются в той же транзакции, что и само изменение
+@Service
+public class OccupancyRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyRollupService.class);
+
+    private final DailyOccupancyJdbcRepository rollupRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final CoworkingRepository coworkingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildParallelism;
+
+    public OccupancyRollupService(DailyOccupancyJdbcRepository rollupRepository,
+                                  WorkspaceRepository workspaceRepository,
+                                  CoworkingRepository coworkingRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${occupancy.rollup.rebuild-parallelism:4}")
+                                  int rebuildParallelism) {
+        this.rollupRepository = rollupRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.coworkingRepository = coworkingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    // BEFORE_COMMIT: если upsert не пройдет, откатится и само изменение брони
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Map<DeltaKey, Integer> deltas = new TreeMap<>();
+        Set<Long> coworkingIds = new TreeSet<>();
+        Set<Long> workspacesWithoutCoworking = new HashSet<>();
+        for (ReservationChange change : event.changes()) {
+            switch (change.type()) {
+                case CREATED -> addDelta(deltas, change, change.startDate(), change.endDate(), 1);
+                case DELETED -> addDelta(deltas, change, change.startDate(), change.endDate(), -1);
+                case UPDATED -> {
+                    addDelta(deltas, change, change.previousStartDate(),
+                            change.previousEndDate(), -1);
+                    addDelta(deltas, change, change.startDate(), change.endDate(), 1);
+                }
+            }
+            if (change.coworkingId() != null) {
+                coworkingIds.add(change.coworkingId());
+            } else if (change.workspaceId() != null) {
+                workspacesWithoutCoworking.add(change.workspaceId());
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!workspacesWithoutCoworking.isEmpty()) {
+            coworkingIds.addAll(workspaceRepository.findCoworkingIds(workspacesWithoutCoworking));
+        }
+        coworkingIds.forEach(rollupRepository::lockCoworkingShared);
+        rollupRepository.applyDeltas(new ArrayList<>(deltas.entrySet()));
+    }
+
+    private static void addDelta(Map<DeltaKey, Integer> deltas, ReservationChange change,
+                                 LocalDate start, LocalDate end, int delta) {
+        if (change.workspaceId() == null || start == null || end == null) {
+            return;
+        }
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            deltas.merge(new DeltaKey(change.workspaceId(), day), delta, Integer::sum);
+        }
+    }
+
+    // Полный пересчет из reservations и архива; коворкинги пересчитываются параллельно,
+    // каждый в своей транзакции под исключительной блокировкой
+    @Scheduled(cron = "${occupancy.rollup.rebuild-cron:-}")
+    public RollupRebuildResult rebuild() {
+        List<Long> coworkingIds = coworkingRepository.findAllIds();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(rebuildParallelism, runnable ->
+                new Thread(runnable, "occupancy-rebuild-" + threadNumber.incrementAndGet()));
+        try {
+            List<CompletableFuture<Integer>> futures = coworkingIds.stream()
+                    .map(id -> CompletableFuture.supplyAsync(() -> rebuildCoworking(id), pool))
+                    .toList();
+            int rows = futures.stream().mapToInt(CompletableFuture::join).sum();
+            logger.info("Rebuilt daily occupancy for {} coworkings, {} rows",
+                    coworkingIds.size(), rows);
+            return new RollupRebuildResult(coworkingIds.size(), rows);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int rebuildCoworking(Long coworkingId) {
+        Integer rows = transactionTemplate.execute(status -> {
+            rollupRepository.lockCoworkingExclusive(coworkingId);
+            return rollupRepository.rebuildCoworking(coworkingId);
+        });
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,157 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.OccupancyCache;
+import com.app.coworking.dto.OccupancyHeatmap;
+import com.app.coworking.dto.OccupancyHeatmap.WorkspaceOccupancy;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.dto.WorkspaceCapacity;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class OccupancyService {
+
+    static final int MAX_DAYS = 366;
+
+    private final ReservationRepository reservationRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final CoworkingRepository coworkingRepository;
+    private final OccupancyCache occupancyCache;
+
+    public OccupancyService(ReservationRepository reservationRepository,
+                            WorkspaceRepository workspaceRepository,
+                            CoworkingRepository coworkingRepository,
+                            OccupancyCache occupancyCache) {
+        this.reservationRepository = reservationRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.coworkingRepository = coworkingRepository;
+        this.occupancyCache = occupancyCache;
+    }
+
+    @Transactional
+    public OccupancyHeatmap getOccupancy(Long coworkingId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidArgumentException("End date must be same or after start date");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new InvalidArgumentException(
+                    "Occupancy window cannot be longer than " + MAX_DAYS + " days");
+        }
+        if (!coworkingRepository.existsById(coworkingId)) {
+            throw new ResourceNotFoundException("Coworking not found with id " + coworkingId);
+        }
+
+        // вместимость берем актуальную, из кэша — только число броней по дням
+        List<WorkspaceCapacity> workspaces =
+                workspaceRepository.findCapacitiesByCoworkingId(coworkingId);
+        Map<Long, double[]> occupancy = new HashMap<>();
+        for (WorkspaceCapacity workspace : workspaces) {
+            occupancy.put(workspace.id(), new double[days]);
+        }
+
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to));
+                month = month.plusMonths(1)) {
+            Map<Long, int[]> booked = getMonth(coworkingId, month);
+            LocalDate monthStart = month.atDay(1);
+            LocalDate first = monthStart.isBefore(from) ? from : monthStart;
+            LocalDate last = month.atEndOfMonth().isAfter(to) ? to : month.atEndOfMonth();
+            for (WorkspaceCapacity workspace : workspaces) {
+                int[] perDay = booked.get(workspace.id());
+                if (perDay == null) {
+                    continue;
+                }
+                double limit = workspace.type() == WorkspaceType.OPEN_SPACE
+                        ? workspace.capacity() : 1;
+                double[] ratios = occupancy.get(workspace.id());
+                for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                    ratios[(int) ChronoUnit.DAYS.between(from, day)] =
+                            perDay[day.getDayOfMonth() - 1] / limit;
+                }
+            }
+        }
+
+        List<WorkspaceOccupancy> rows = new ArrayList<>(workspaces.size());
+        for (WorkspaceCapacity workspace : workspaces) {
+            rows.add(new WorkspaceOccupancy(workspace.id(), workspace.name(), workspace.type(),
+                    workspace.capacity(), occupancy.get(workspace.id())));
+        }
+        return new OccupancyHeatmap(coworkingId, from, to, rows);
+    }
+
+    private Map<Long, int[]> getMonth(Long coworkingId, YearMonth month) {
+        Map<Long, int[]> booked = occupancyCache.get(coworkingId, month);
+        if (booked == null) {
+            long version = occupancyCache.version();
+            booked = computeMonth(coworkingId, month);
+            occupancyCache.put(coworkingId, month, booked, version);
+        }
+        return booked;
+    }
+
+    // Разностный массив по дням месяца для каждого workspace: O(броней + дней)
+    private Map<Long, int[]> computeMonth(Long coworkingId, YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+        int days = month.lengthOfMonth();
+
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (ReservedRange range : reservationRepository
+                .findReservedRangesByCoworkingId(coworkingId, monthStart, monthEnd)) {
+            int[] delta = deltas.computeIfAbsent(range.workspaceId(), id -> new int[days + 1]);
+            LocalDate start = range.startDate().isBefore(monthStart) ? monthStart
+                    : range.startDate();
+            LocalDate end = range.endDate().isAfter(monthEnd) ? monthEnd : range.endDate();
+            delta[start.getDayOfMonth() - 1]++;
+            delta[end.getDayOfMonth()]--;
+        }
+
+        Map<Long, int[]> booked = new HashMap<>();
+        deltas.forEach((workspaceId, delta) -> {
+            int[] perDay = new int[days];
+            int running = 0;
+            for (int i = 0; i < days; i++) {
+                running += delta[i];
+                perDay[i] = running;
+            }
+            booked.put(workspaceId, perDay);
+        });
+        return Collections.unmodifiableMap(booked);
+    }
+
+    // Сбрасываем только месяцы, которые задела закоммиченная бронь
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        for (ReservationChange change : event.changes()) {
+            if (change.coworkingId() == null) {
+                occupancyCache.clear();
+                return;
+            }
+            evict(change.coworkingId(), change.startDate(), change.endDate());
+            evict(change.coworkingId(), change.previousStartDate(), change.previousEndDate());
+        }
+    }
+
+    private void evict(Long coworkingId, LocalDate start, LocalDate end) {
+        if (start != null && end != null) {
+            occupancyCache.evict(coworkingId, YearMonth.from(start), YearMonth.from(end));
+        }
+    }
+}
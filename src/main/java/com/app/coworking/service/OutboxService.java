@@ -0,0 +1,112 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.OutboxMessage;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.outbox.OutboxSink;
+import com.app.coworking.repository.OutboxJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Transactional outbox: событие сохраняется вместе с изменением брони и отправляется
+// во внешнюю систему отдельно, так что запрос бронирования не ждет получателя
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxJdbcRepository outboxRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxService(OutboxJdbcRepository outboxRepository,
+                         OutboxSink outboxSink,
+                         TransactionTemplate transactionTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${outbox.relay.batch-size:100}") int batchSize,
+                         @Value("${outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    // BEFORE_COMMIT: событие фиксируется тем же коммитом, что и бронь, или не фиксируется вовсе
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Instant now = Instant.now();
+        List<OutboxMessage> messages = event.changes().stream()
+                .map(change -> new OutboxMessage(null, change.workspaceId(), eventType(change),
+                        serialize(change), now))
+                .toList();
+        outboxRepository.insertBatch(messages);
+    }
+
+    // Пачки забираются, пока очередь не опустеет; ошибка получателя откатывает пачку,
+    // и она будет отправлена на следующем запуске в том же порядке
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException ex) {
+            logger.error("Outbox relay failed, will retry", ex);
+        }
+    }
+
+    int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxRepository.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                outboxSink.publish(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink rejected " + batch.size()
+                        + " events", e);
+            }
+            outboxRepository.markPublished(batch.stream().map(OutboxMessage::id).toList(),
+                    Instant.now());
+            return batch.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 0 4 * * *}")
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(Instant.now().minus(retention));
+        logger.info("Purged {} published outbox events", deleted);
+    }
+
+    private static String eventType(ReservationChange change) {
+        return "reservation." + change.type().name().toLowerCase(Locale.ROOT);
+    }
+
+    private String serialize(ReservationChange change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize reservation change", e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.RecurringReservationRequest;
+import com.app.coworking.dto.RecurringReservationResult;
+import com.app.coworking.dto.RecurringReservationResult.Occurrence;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.RecurringReservation;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.RecurrenceFrequency;
+import com.app.coworking.repository.RecurringReservationRepository;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RecurringReservationService {
+
+    static final int MAX_OCCURRENCES = 366;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final RecurringReservationRepository recurringReservationRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final UserRepository userRepository;
+    private final ReservationCache reservationCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecurringReservationService(ReservationRepository reservationRepository,
+                                       ReservationJdbcRepository reservationJdbcRepository,
+                                       RecurringReservationRepository recurringReservationRepository,
+                                       WorkspaceRepository workspaceRepository,
+                                       UserRepository userRepository,
+                                       ReservationCache reservationCache,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.reservationRepository = reservationRepository;
+        this.reservationJdbcRepository = reservationJdbcRepository;
+        this.recurringReservationRepository = recurringReservationRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.userRepository = userRepository;
+        this.reservationCache = reservationCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Создает все свободные вхождения серии; конфликтующие возвращаются с описанием ошибки
+    @Transactional
+    public RecurringReservationResult createRecurringReservation(
+            Long workspaceId, Long userId, RecurringReservationRequest request) {
+        List<ReservedRange> occurrences = expandOccurrences(workspaceId, request);
+
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Workspace not found with id " + workspaceId));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User not found with id " + userId));
+
+        // одним запросом берем все брони workspace на период серии (отсортированы по началу)
+        LocalDate from = occurrences.get(0).startDate();
+        LocalDate to = occurrences.get(occurrences.size() - 1).endDate();
+        List<ReservedRange> existing =
+                reservationRepository.findReservedRanges(List.of(workspaceId), from, to);
+
+        boolean[] conflicts = findConflicts(occurrences, existing,
+                ReservationService.capacityLimit(workspace));
+
+        List<Reservation> accepted = new ArrayList<>();
+        RecurringReservation recurrence = null;
+        for (int i = 0; i < occurrences.size(); i++) {
+            if (!conflicts[i]) {
+                if (recurrence == null) {
+                    recurrence = recurringReservationRepository.save(
+                            toRecurrence(workspace, user, request));
+                }
+                accepted.add(toReservation(occurrences.get(i), workspace, user, recurrence));
+            }
+        }
+
+        reservationJdbcRepository.insertBatch(accepted);
+        accepted.forEach(reservation -> reservationCache.put(reservation.getId(), reservation));
+        if (!accepted.isEmpty()) {
+            eventPublisher.publishEvent(new ReservationChangedEvent(accepted.stream()
+                    .map(ReservationChange::created)
+                    .toList()));
+        }
+
+        List<Occurrence> results = new ArrayList<>(occurrences.size());
+        String conflictMessage = ReservationService.unavailableMessage(workspace);
+        int next = 0;
+        for (int i = 0; i < occurrences.size(); i++) {
+            ReservedRange occurrence = occurrences.get(i);
+            if (conflicts[i]) {
+                results.add(new Occurrence(occurrence.startDate(), occurrence.endDate(),
+                        null, conflictMessage));
+            } else {
+                results.add(new Occurrence(occurrence.startDate(), occurrence.endDate(),
+                        accepted.get(next++).getId(), null));
+            }
+        }
+        return new RecurringReservationResult(recurrence == null ? null : recurrence.getId(),
+                occurrences.size(), accepted.size(), results);
+    }
+
+    static List<ReservedRange> expandOccurrences(Long workspaceId,
+                                                 RecurringReservationRequest request) {
+        if (request.endDate().isBefore(request.startDate())) {
+            throw new InvalidArgumentException(ReservationService.INVALID_DATES_MESSAGE);
+        }
+        if (request.untilDate().isBefore(request.startDate())) {
+            throw new InvalidArgumentException("Until date must be same or after start date");
+        }
+
+        int interval = request.interval() == null ? 1 : request.interval();
+        long stepDays = request.frequency() == RecurrenceFrequency.WEEKLY
+                ? 7L * interval : interval;
+        long lengthDays = ChronoUnit.DAYS.between(request.startDate(), request.endDate()) + 1;
+        if (lengthDays > stepDays) {
+            throw new InvalidArgumentException("Occurrences of a recurring reservation "
+                    + "must not overlap each other");
+        }
+
+        long count = ChronoUnit.DAYS.between(request.startDate(), request.untilDate())
+                / stepDays + 1;
+        if (count > MAX_OCCURRENCES) {
+            throw new InvalidArgumentException("Recurring reservation cannot have more than "
+                    + MAX_OCCURRENCES + " occurrences");
+        }
+
+        List<ReservedRange> occurrences = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = request.startDate().plusDays(i * stepDays);
+            occurrences.add(new ReservedRange(workspaceId, start,
+                    start.plusDays(lengthDays - 1)));
+        }
+        return occurrences;
+    }
+
+    // Merge-join двух отсортированных по началу последовательностей за один проход.
+    // В куче лежат брони, уже начавшиеся к концу текущего вхождения; упорядочены по концу,
+    // чтобы дешево выбрасывать закончившиеся до его начала. Размер кучи = число пересечений.
+    static boolean[] findConflicts(List<ReservedRange> occurrences,
+                                   List<ReservedRange> existing, int capacityLimit) {
+        boolean[] conflicts = new boolean[occurrences.size()];
+        PriorityQueue<LocalDate> activeEnds = new PriorityQueue<>(Comparator.naturalOrder());
+        int next = 0;
+        for (int i = 0; i < occurrences.size(); i++) {
+            ReservedRange occurrence = occurrences.get(i);
+            while (next < existing.size()
+                    && !existing.get(next).startDate().isAfter(occurrence.endDate())) {
+                activeEnds.add(existing.get(next++).endDate());
+            }
+            while (!activeEnds.isEmpty() && activeEnds.peek().isBefore(occurrence.startDate())) {
+                activeEnds.poll();
+            }
+            conflicts[i] = activeEnds.size() >= capacityLimit;
+        }
+        return conflicts;
+    }
+
+    private RecurringReservation toRecurrence(Workspace workspace, User user,
+                                              RecurringReservationRequest request) {
+        RecurringReservation recurrence = new RecurringReservation();
+        recurrence.setWorkspace(workspace);
+        recurrence.setUser(user);
+        recurrence.setFrequency(request.frequency());
+        recurrence.setRepeatInterval(request.interval() == null ? 1 : request.interval());
+        recurrence.setStartDate(request.startDate());
+        recurrence.setEndDate(request.endDate());
+        recurrence.setUntilDate(request.untilDate());
+        recurrence.setComment(request.comment());
+        return recurrence;
+    }
+
+    private Reservation toReservation(ReservedRange occurrence, Workspace workspace, User user,
+                                      RecurringReservation recurrence) {
+        Reservation reservation = new Reservation();
+        reservation.setWorkspace(workspace);
+        reservation.setUser(user);
+        reservation.setStartDate(occurrence.startDate());
+        reservation.setEndDate(occurrence.endDate());
+        reservation.setComment(recurrence.getComment());
+        reservation.setRecurrence(recurrence);
+        return reservation;
+    }
+}
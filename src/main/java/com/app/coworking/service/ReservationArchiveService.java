@@ -0,0 +1,105 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.ArchivedReservation;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.ReservationArchiveRepository;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Горячая таблица reservations хранит только текущие и недавние брони: проверки
+// пересечений, выборки по пользователю и коллекции workspace.reservations не растут
+// вместе с историей. Завершенные брони переносятся в секционированный архив.
+@Service
+public class ReservationArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiveService.class);
+
+    private final ReservationArchiveRepository archiveRepository;
+    private final ReservationCache reservationCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int keepDays;
+    private final int detachAfterMonths;
+
+    public ReservationArchiveService(ReservationArchiveRepository archiveRepository,
+                                     ReservationCache reservationCache,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${reservation.archive.keep-days:90}") int keepDays,
+                                     @Value("${reservation.archive.detach-after-months:0}")
+                                     int detachAfterMonths) {
+        this.archiveRepository = archiveRepository;
+        this.reservationCache = reservationCache;
+        this.transactionTemplate = transactionTemplate;
+        this.keepDays = keepDays;
+        this.detachAfterMonths = detachAfterMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareArchive() {
+        archiveRepository.createTableIfNotExists();
+    }
+
+    // Переносим по месяцу за транзакцию, чтобы не держать блокировки на всю историю сразу
+    @Scheduled(cron = "${reservation.archive.cron:0 30 3 * * *}")
+    public int archiveEndedReservations() {
+        LocalDate cutoff = LocalDate.now().minusDays(keepDays);
+        LocalDate oldest = archiveRepository.findOldestActiveEndDate();
+        int moved = 0;
+        if (oldest != null && oldest.isBefore(cutoff)) {
+            for (YearMonth month = YearMonth.from(oldest); month.atDay(1).isBefore(cutoff);
+                    month = month.plusMonths(1)) {
+                YearMonth partition = month;
+                LocalDate nextMonth = month.plusMonths(1).atDay(1);
+                LocalDate until = nextMonth.isBefore(cutoff) ? nextMonth : cutoff;
+                Integer count = transactionTemplate.execute(status -> {
+                    archiveRepository.createPartitionIfNotExists(partition);
+                    return archiveRepository.moveEndedBetween(partition.atDay(1), until);
+                });
+                moved += count == null ? 0 : count;
+            }
+        }
+        if (moved > 0) {
+            // в кэше могли остаться уже перенесенные брони
+            reservationCache.clear();
+            logger.info("Archived {} reservations ended before {}", moved, cutoff);
+        }
+        if (detachAfterMonths > 0) {
+            detachOldPartitions(YearMonth.now().minusMonths(detachAfterMonths));
+        }
+        return moved;
+    }
+
+    private void detachOldPartitions(YearMonth before) {
+        for (String partition : archiveRepository.findPartitionsBefore(before)) {
+            archiveRepository.detachPartition(partition);
+            logger.info("Detached archive partition {}", partition);
+        }
+    }
+
+    public List<ArchivedReservation> getArchivedByUser(Long userId, LocalDate from,
+                                                       LocalDate to) {
+        validateRange(from, to);
+        return archiveRepository.findByUserId(userId, from, to);
+    }
+
+    public List<ArchivedReservation> getArchivedByWorkspace(Long workspaceId, LocalDate from,
+                                                            LocalDate to) {
+        validateRange(from, to);
+        return archiveRepository.findByWorkspaceId(workspaceId, from, to);
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidArgumentException("End date must be same or after start date");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.ExportFormat;
+import com.app.coworking.dto.ReservationExportRow;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.transaction.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Service;
+
+// Выгрузка идет строка за строкой из серверного курсора прямо в ответ:
+// ни список броней, ни готовый документ целиком в памяти не держатся
+@Service
+public class ReservationExportService {
+
+    static final String CSV_HEADER = "id,workspace_id,coworking_id,user_id,user_email,"
+            + "start_date,end_date,status,comment";
+
+    private final ReservationRepository reservationRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReservationExportService(ReservationRepository reservationRepository,
+                                    ObjectMapper objectMapper) {
+        this.reservationRepository = reservationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Проверяется до начала выгрузки: после первых байт статус ответа уже не поменять
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidArgumentException(ReservationService.INVALID_DATES_MESSAGE);
+        }
+    }
+
+    // Транзакция нужна, чтобы курсор PostgreSQL жил до конца выгрузки
+    @Transactional
+    public void export(LocalDate from, LocalDate to, ExportFormat format, boolean gzip,
+                       OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        try (Stream<ReservationExportRow> rows = reservationRepository.streamForExport(from, to)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), target);
+            } else {
+                writeNdjson(rows.iterator(), target);
+            }
+        }
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        out.flush();
+    }
+
+    private void writeNdjson(Iterator<ReservationExportRow> rows, OutputStream out)
+            throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(ReservationExportRow.class);
+        while (rows.hasNext()) {
+            out.write(rowWriter.writeValueAsBytes(rows.next()));
+            out.write('\n');
+        }
+    }
+
+    private static void writeCsv(Iterator<ReservationExportRow> rows, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            writer.write(toCsvLine(rows.next()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    static String toCsvLine(ReservationExportRow row) {
+        return String.join(",",
+                String.valueOf(row.id()),
+                String.valueOf(row.workspaceId()),
+                String.valueOf(row.coworkingId()),
+                String.valueOf(row.userId()),
+                csvField(row.userEmail()),
+                String.valueOf(row.startDate()),
+                String.valueOf(row.endDate()),
+                row.status() == null ? "" : row.status().name(),
+                csvField(row.comment()));
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
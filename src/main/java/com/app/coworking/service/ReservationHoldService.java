@@ -0,0 +1,76 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.repository.ReservationRepository;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReservationHoldService {
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final ReservationCache reservationCache;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration holdTtl;
+
+    public ReservationHoldService(ReservationService reservationService,
+                                  ReservationRepository reservationRepository,
+                                  ReservationCache reservationCache,
+                                  HoldExpiryScheduler holdExpiryScheduler,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${reservation.hold.ttl:5m}") Duration holdTtl) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+        this.reservationCache = reservationCache;
+        this.holdExpiryScheduler = holdExpiryScheduler;
+        this.eventPublisher = eventPublisher;
+        this.holdTtl = holdTtl;
+    }
+
+    // Обычное создание брони (та же проверка вместимости), но со статусом HOLD и сроком жизни
+    @Transactional
+    public Reservation createHold(Long workspaceId, Long userId, Reservation reservation) {
+        Instant expiresAt = Instant.now().plus(holdTtl);
+        reservation.setStatus(ReservationStatus.HOLD);
+        reservation.setHoldExpiresAt(expiresAt);
+        Reservation saved = reservationService.createReservation(workspaceId, userId, reservation);
+        holdExpiryScheduler.schedule(saved.getId(), expiresAt);
+        return saved;
+    }
+
+    // Один условный UPDATE вместо чтения и записи: он и удаление по таймеру берут
+    // блокировку одной строки, поэтому выигрывает только один из них
+    @Transactional
+    public Reservation confirmHold(Long id) {
+        int confirmed = reservationRepository.confirmHold(id, ReservationStatus.HOLD,
+                ReservationStatus.CONFIRMED, Instant.now());
+        Reservation existing = reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Reservation not found with id " + id));
+        if (confirmed == 0) {
+            if (existing.getStatus() != ReservationStatus.HOLD) {
+                throw new InvalidArgumentException("Reservation " + id + " is not on hold");
+            }
+            throw new InvalidArgumentException("Hold for reservation " + id + " has expired");
+        }
+
+        reservationCache.putAfterCommit(existing);
+        holdExpiryScheduler.cancel(id);
+        // даты не меняются, но получатели outbox узнают, что удержание стало бронью
+        eventPublisher.publishEvent(ReservationChangedEvent.of(
+                ReservationChange.confirmed(existing)));
+        return existing;
+    }
+}
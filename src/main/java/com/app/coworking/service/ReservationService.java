@@ -1,6 +1,11 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.ReservationFilter;
+import com.app.coworking.dto.UserReservationView;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
@@ -8,31 +13,44 @@ import com.app.coworking.model.Reservation;
 import com.app.coworking.model.User;
 import com.app.coworking.model.Workspace;
 import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.ReservationJdbcRepository;
 import com.app.coworking.repository.ReservationRepository;
 import com.app.coworking.repository.UserRepository;
 import com.app.coworking.repository.WorkspaceRepository;
 import jakarta.transaction.Transactional;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ReservationService {
 
+    static final String INVALID_DATES_MESSAGE = "End date must be same or after start date";
+
+    private record PageKey(LocalDate startDate, Long id) {}
+
     private final ReservationRepository reservationRepository;
+    private final ReservationJdbcRepository reservationJdbcRepository;
     private final WorkspaceRepository workspaceRepository;
     private final UserRepository userRepository;
     private final ReservationCache reservationCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReservationService(ReservationRepository reservationRepository,
+                              ReservationJdbcRepository reservationJdbcRepository,
                               WorkspaceRepository workspaceRepository,
                               UserRepository userRepository,
-                              ReservationCache reservationCache) {
+                              ReservationCache reservationCache,
+                              ApplicationEventPublisher eventPublisher) {
         this.reservationRepository = reservationRepository;
+        this.reservationJdbcRepository = reservationJdbcRepository;
         this.workspaceRepository = workspaceRepository;
         this.userRepository = userRepository;
         this.reservationCache = reservationCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -55,11 +73,32 @@ public class ReservationService {
     }
 
     @Transactional
-    public List<Reservation> getReservationsByUserEmail(String email) {
-        if (!userRepository.existsByEmail(email)) {
+    public KeysetPage<Reservation> getReservationsPage(ReservationFilter filter, String cursor,
+                                                       Integer size) {
+        if (filter.from() != null && filter.to() != null && filter.to().isBefore(filter.from())) {
+            throw new InvalidArgumentException(INVALID_DATES_MESSAGE);
+        }
+        int pageSize = KeysetPaging.pageSize(size);
+        PageKey after = cursor == null ? new PageKey(null, null)
+                : KeysetPaging.decode(cursor, parts ->
+                        new PageKey(LocalDate.parse(parts[0]), Long.valueOf(parts[1])));
+        List<Long> ids = reservationJdbcRepository.findPageIds(filter, after.startDate(),
+                after.id(), KeysetPaging.fetchLimit(pageSize).max());
+        List<Reservation> fetched = ids.isEmpty() ? List.of()
+                : reservationRepository.findPageByIds(ids);
+        return KeysetPaging.page(fetched, pageSize,
+                reservation -> KeysetPaging.encode(reservation.getStartDate(), reservation.getId()));
+    }
+
+    @Transactional
+    public List<UserReservationView> getReservationsByUserEmail(String email) {
+        List<UserReservationView> rows = reservationRepository.findUserReservationsByEmail(email);
+        if (rows.isEmpty()) {
             throw new ResourceNotFoundException("User with email " + email + " not found");
         }
-        return reservationRepository.findByUserEmail(email);
+        return rows.stream()
+                .filter(row -> row.reservationId() != null)
+                .toList();
     }
 
     private void checkAvailability(Workspace workspace,
@@ -67,35 +106,43 @@ public class ReservationService {
 
         // 1) конец не может быть раньше начала (end < start) — равно допустимо (one-day)
         if (end.isBefore(start)) {
-            throw new InvalidArgumentException("End date must be same or after start date");
+            throw new InvalidArgumentException(INVALID_DATES_MESSAGE);
         }
 
-        // 4) находим пересекающиеся бронирования
-        List<Reservation> overlapping = new ArrayList<>(
-                reservationRepository.findOverlappingReservations(workspace.getId(), start, end)
-        );
+        // 4) считаем пересекающиеся бронирования (при update исключаем саму бронь)
+        // 5) capacity проверки
+        if (!hasCapacity(workspace, start, end, excludeReservationId)) {
+            throw new AlreadyExistsException(unavailableMessage(workspace));
+        }
+    }
 
+    // Та же проверка, что в checkAvailability, но без исключения: исключение из
+    // @Transactional-метода пометило бы общую транзакцию вызывающего как rollback-only
+    @Transactional
+    public boolean isAvailable(Workspace workspace, LocalDate start, LocalDate end) {
+        return !end.isBefore(start) && hasCapacity(workspace, start, end, null);
+    }
 
-        // при update исключаем саму бронь
-        if (excludeReservationId != null) {
-            overlapping.removeIf(r -> r.getId().equals(excludeReservationId));
-        }
+    private boolean hasCapacity(Workspace workspace, LocalDate start, LocalDate end,
+                                Long excludeReservationId) {
+        long overlapping = reservationRepository.countOverlappingReservations(
+                workspace.getId(), start, end, excludeReservationId);
+        return overlapping < capacityLimit(workspace);
+    }
 
-        // 5) capacity проверки
-        if (workspace.getType() == WorkspaceType.OPEN_SPACE) {
-            // для open space реально используем capacity
-            if (overlapping.size() >= workspace.getCapacity()) {
-                throw new AlreadyExistsException(
-                        "Open space capacity exceeded for the selected dates");
-            }
-        } else {
-            // для всех остальных capacity = 1
-            if (!overlapping.isEmpty()) {
-                throw new AlreadyExistsException(
-                        "This workspace is already reserved for the selected period");
-            }
-        }
+    // для open space реально используем capacity, для всех остальных capacity = 1
+    static int capacityLimit(Workspace workspace) {
+        return capacityLimit(workspace.getType(), workspace.getCapacity());
+    }
 
+    static int capacityLimit(WorkspaceType type, Integer capacity) {
+        return type == WorkspaceType.OPEN_SPACE ? capacity : 1;
+    }
+
+    static String unavailableMessage(Workspace workspace) {
+        return workspace.getType() == WorkspaceType.OPEN_SPACE
+                ? "Open space capacity exceeded for the selected dates"
+                : "This workspace is already reserved for the selected period";
     }
 
     @Transactional
@@ -113,7 +160,8 @@ public class ReservationService {
         reservation.setUser(user);
 
         Reservation saved = reservationRepository.save(reservation);
-        reservationCache.put(saved.getId(), saved);
+        reservationCache.putAfterCommit(saved);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChange.created(saved)));
         return saved;
     }
 
@@ -124,19 +172,43 @@ public class ReservationService {
                         "Reservation not found with id " + id));
         Workspace workspace = existing.getWorkspace();
         checkAvailability(workspace, updated.getStartDate(), updated.getEndDate(), id);
+        LocalDate previousStartDate = existing.getStartDate();
+        LocalDate previousEndDate = existing.getEndDate();
         existing.setStartDate(updated.getStartDate());
         existing.setEndDate(updated.getEndDate());
         existing.setComment(updated.getComment());
 
         Reservation saved = reservationRepository.save(existing);
-        reservationCache.put(saved.getId(), saved);
+        reservationCache.putAfterCommit(saved);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(
+                ReservationChange.updated(saved, previousStartDate, previousEndDate)));
         return saved;
     }
 
+    // Берем строку из БД, а не из кэша: у закэшированной отсоединенной брони lazy-прокси
+    // workspace не инициализирован, и событие упало бы на LazyInitializationException
     @Transactional
     public void deleteReservation(Long id) {
-        Reservation existing = getReservationById(id);
+        Reservation existing = reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Reservation not found with id " + id));
         reservationRepository.delete(existing);
         reservationCache.remove(id);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChange.deleted(existing)));
+    }
+
+    // Удаляет истекшие HOLD-брони; уже подтвержденные и продленные не трогает.
+    // События строятся из того, что реально удалил DELETE ... RETURNING
+    @Transactional
+    public List<Long> expireHolds(Collection<Long> ids) {
+        List<ReservationChange> expired = reservationJdbcRepository.deleteExpiredHolds(
+                ids, Instant.now());
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+        List<Long> expiredIds = expired.stream().map(ReservationChange::reservationId).toList();
+        expiredIds.forEach(reservationCache::remove);
+        eventPublisher.publishEvent(new ReservationChangedEvent(expired));
+        return expiredIds;
     }
 }
@@ -0,0 +1,120 @@
+package com.app.coworking.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Подписчик с ограниченным буфером. Отправку выполняет общий пул: поток занят
+// подписчиком только пока у того есть неотправленные события.
+// send и complete у emitter'а синхронизированы, поэтому complete() вызывает только
+// поток-отправитель (или кто захватил draining): иначе он ждал бы зависшую запись
+final class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> buffer;
+    private final Executor sender;
+    private final Consumer<SseSubscriber> onClose;
+    private final Runnable onStalledSendReturned;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile long sendStartedAt;
+
+    SseSubscriber(SseEmitter emitter, int bufferSize, Executor sender,
+                  Consumer<SseSubscriber> onClose, Runnable onStalledSendReturned) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.onClose = onClose;
+        this.onStalledSendReturned = onStalledSendReturned;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // Не блокирует: медленный клиент с переполненным буфером отключается,
+    // после переподключения он получит свежий снимок
+    boolean offer(Set<DataWithMediaType> event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            close();
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    private void drain() {
+        do {
+            Set<DataWithMediaType> event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                if (!send(event)) {
+                    close();
+                }
+            }
+            if (closed.get()) {
+                // draining остается занятым: после закрытия отправок больше не будет
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+            if (closed.get() && draining.compareAndSet(false, true)) {
+                // close() пришел между проверкой и сбросом флага и оставил complete нам
+                emitter.complete();
+                return;
+            }
+            // событие могло прийти между последним poll и сбросом флага
+        } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private boolean send(Set<DataWithMediaType> event) {
+        sendStartedAt = System.nanoTime();
+        sending.set(true);
+        boolean sent;
+        try {
+            emitter.send(event);
+            sent = true;
+        } catch (IOException | IllegalStateException e) {
+            sent = false;
+        }
+        if (!sending.compareAndSet(true, false)) {
+            // запись признана зависшей, подписчик уже отключен, а пулу выдана замена потока
+            onStalledSendReturned.run();
+            return false;
+        }
+        return sent;
+    }
+
+    // Вызывается сторожем: запись дольше timeoutNanos держит поток пула, поэтому
+    // подписчик отключается, а поток остается за ним, пока контейнер не оборвет запись
+    boolean abandonIfStalled(long now, long timeoutNanos) {
+        if (sending.get() && now - sendStartedAt > timeoutNanos
+                && sending.compareAndSet(true, false)) {
+            close();
+            return true;
+        }
+        return false;
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            onClose.accept(this);
+            // идет отправка — complete() вызовет поток-отправитель после записи
+            if (draining.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.UserCache;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.UserView;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
 import com.app.coworking.model.User;
+import com.app.coworking.repository.RecurringReservationRepository;
+import com.app.coworking.repository.ReservationRepository;
 import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WaitlistEntryRepository;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -16,10 +21,19 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserCache userCache;
-
-    public UserService(UserRepository userRepository, UserCache userCache) {
+    private final ReservationRepository reservationRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final RecurringReservationRepository recurringReservationRepository;
+
+    public UserService(UserRepository userRepository, UserCache userCache,
+                       ReservationRepository reservationRepository,
+                       WaitlistEntryRepository waitlistEntryRepository,
+                       RecurringReservationRepository recurringReservationRepository) {
         this.userRepository = userRepository;
         this.userCache = userCache;
+        this.reservationRepository = reservationRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.recurringReservationRepository = recurringReservationRepository;
     }
 
     @Transactional
@@ -40,6 +54,17 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    // Проекция вместо сущностей: Jackson не обходит ленивые бронирования каждого пользователя
+    @Transactional
+    public KeysetPage<UserView> getUsersPage(String cursor, Integer size) {
+        int pageSize = KeysetPaging.pageSize(size);
+        long afterId = cursor == null ? 0L
+                : KeysetPaging.decode(cursor, parts -> Long.parseLong(parts[0]));
+        List<UserView> fetched = userRepository.findViewsAfter(afterId,
+                KeysetPaging.fetchLimit(pageSize));
+        return KeysetPaging.page(fetched, pageSize, item -> KeysetPaging.encode(item.id()));
+    }
+
     @Transactional
     public User createUser(User user) {
         if (user.getReservations() != null && !user.getReservations().isEmpty()) {
@@ -85,12 +110,17 @@ public class UserService {
 
     @Transactional
     public void deleteUser(Long id) {
-        User existing = getUserById(id);
-        if (existing.getReservations() != null && !existing.getReservations().isEmpty()) {
+        // Проверяем в БД, а не по коллекции: объект из кэша мог устареть
+        if (reservationRepository.existsByUserId(id)) {
             throw new InvalidArgumentException("Cannot delete user with existing reservations."
                     + " Delete reservations first.");
         }
-        userRepository.delete(existing);
+        // заявки в очереди и пустые серии на пользователя ссылаются по NOT NULL FK
+        waitlistEntryRepository.deleteByUserId(id);
+        recurringReservationRepository.deleteEmptyByUserId(id);
+        if (userRepository.deleteRowById(id) == 0) {
+            throw new ResourceNotFoundException("User not found with id " + id);
+        }
         userCache.remove(id);
     }
 }
@@ -0,0 +1,59 @@
+package com.app.coworking.service;
+
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Отдельный бин, чтобы вызов WaitlistService шел через прокси с транзакцией
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistPromoter(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    // Место освобождается только при удалении брони или переносе ее со старых дат
+    @Async
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Map<Long, LocalDate[]> freed = new HashMap<>();
+        for (ReservationChange change : event.changes()) {
+            if (change.type() == ReservationChange.Type.DELETED) {
+                merge(freed, change.workspaceId(), change.startDate(), change.endDate());
+            } else if (change.type() == ReservationChange.Type.UPDATED) {
+                merge(freed, change.workspaceId(),
+                        change.previousStartDate(), change.previousEndDate());
+            }
+        }
+
+        freed.forEach((workspaceId, range) -> {
+            List<Long> promoted = waitlistService.promoteWaiters(workspaceId, range[0], range[1]);
+            if (!promoted.isEmpty()) {
+                logger.info("Promoted waitlist entries {} for workspace {}", promoted, workspaceId);
+            }
+        });
+    }
+
+    private static void merge(Map<Long, LocalDate[]> freed, Long workspaceId,
+                              LocalDate start, LocalDate end) {
+        if (workspaceId == null || start == null || end == null) {
+            return;
+        }
+        freed.merge(workspaceId, new LocalDate[] {start, end}, (a, b) -> new LocalDate[] {
+            a[0].isBefore(b[0]) ? a[0] : b[0],
+            a[1].isAfter(b[1]) ? a[1] : b[1]
+        });
+    }
+}
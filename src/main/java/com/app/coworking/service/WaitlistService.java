@@ -0,0 +1,122 @@
+package com.app.coworking.service;
+
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.WaitlistEntry;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.WaitlistStatus;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WaitlistEntryRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final UserRepository userRepository;
+    private final ReservationService reservationService;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository,
+                           WorkspaceRepository workspaceRepository,
+                           UserRepository userRepository,
+                           ReservationService reservationService) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.userRepository = userRepository;
+        this.reservationService = reservationService;
+    }
+
+    @Transactional
+    public WaitlistEntry getEntryById(Long id) {
+        return waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Waitlist entry not found with id " + id));
+    }
+
+    @Transactional
+    public List<WaitlistEntry> getEntriesByUserId(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+        return waitlistEntryRepository.findByUserIdOrderByCreatedAtAsc(userId);
+    }
+
+    @Transactional
+    public WaitlistEntry enqueue(Long workspaceId, Long userId, Reservation request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidArgumentException(ReservationService.INVALID_DATES_MESSAGE);
+        }
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Workspace not found with id " + workspaceId));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User not found with id " + userId));
+
+        // место уже свободно — очередь не нужна, иначе запись ждала бы следующего освобождения
+        if (reservationService.isAvailable(workspace,
+                request.getStartDate(), request.getEndDate())) {
+            throw new InvalidArgumentException("Workspace is available for the selected dates."
+                    + " Create a reservation instead");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setWorkspace(workspace);
+        entry.setUser(user);
+        entry.setStartDate(request.getStartDate());
+        entry.setEndDate(request.getEndDate());
+        entry.setComment(request.getComment());
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(Instant.now());
+        return waitlistEntryRepository.save(entry);
+    }
+
+    @Transactional
+    public void deleteEntry(Long id) {
+        WaitlistEntry existing = getEntryById(id);
+        waitlistEntryRepository.delete(existing);
+    }
+
+    // Проходим ожидающих в порядке FIFO и бронируем тех, кому теперь хватает места
+    @Transactional
+    public List<Long> promoteWaiters(Long workspaceId, LocalDate from, LocalDate to) {
+        Workspace workspace = workspaceRepository.findById(workspaceId).orElse(null);
+        if (workspace == null) {
+            return List.of();
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Long> promoted = new ArrayList<>();
+        for (WaitlistEntry entry : waitlistEntryRepository.findOverlappingByStatus(
+                workspaceId, WaitlistStatus.WAITING, from, to)) {
+            if (entry.getStartDate().isBefore(today)) {
+                entry.setStatus(WaitlistStatus.EXPIRED);
+                continue;
+            }
+            if (!reservationService.isAvailable(workspace,
+                    entry.getStartDate(), entry.getEndDate())) {
+                continue;
+            }
+            Reservation reservation = new Reservation();
+            reservation.setStartDate(entry.getStartDate());
+            reservation.setEndDate(entry.getEndDate());
+            reservation.setComment(entry.getComment());
+            Reservation created = reservationService.createReservation(
+                    workspaceId, entry.getUser().getId(), reservation);
+
+            entry.setStatus(WaitlistStatus.PROMOTED);
+            entry.setReservationId(created.getId());
+            promoted.add(entry.getId());
+        }
+        return promoted;
+    }
+}
@@ -1,15 +1,23 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.WorkspaceCache;
+import com.app.coworking.event.CatalogChangedEvent;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
 import com.app.coworking.model.Coworking;
 import com.app.coworking.model.Workspace;
 import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyRepository;
+import com.app.coworking.repository.RecurringReservationRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.WaitlistEntryRepository;
 import com.app.coworking.repository.WorkspaceRepository;
 import jakarta.transaction.Transactional;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,13 +26,28 @@ public class WorkspaceService {
     private final WorkspaceRepository workspaceRepository;
     private final CoworkingRepository coworkingRepository;
     private final WorkspaceCache workspaceCache;
+    private final ReservationRepository reservationRepository;
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final RecurringReservationRepository recurringReservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public WorkspaceService(WorkspaceRepository workspaceRepository,
                             CoworkingRepository coworkingRepository,
-                            WorkspaceCache workspaceCache) {
+                            WorkspaceCache workspaceCache,
+                            ReservationRepository reservationRepository,
+                            DailyOccupancyRepository dailyOccupancyRepository,
+                            WaitlistEntryRepository waitlistEntryRepository,
+                            RecurringReservationRepository recurringReservationRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.workspaceRepository = workspaceRepository;
         this.coworkingRepository = coworkingRepository;
         this.workspaceCache = workspaceCache;
+        this.reservationRepository = reservationRepository;
+        this.dailyOccupancyRepository = dailyOccupancyRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.recurringReservationRepository = recurringReservationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -41,27 +64,10 @@ public class WorkspaceService {
         return workspace;
     }
 
-    @Transactional
-    public List<Workspace> getAllWorkspaces() {
-        return workspaceRepository.findAll();
-    }
-
     @Transactional
     public Workspace createWorkspace(Long coworkingId, Workspace workspace) {
-        // Валидация: запрещаем передавать связанные сущности в теле запроса
-        if (workspace.getReservations() != null && !workspace.getReservations().isEmpty()) {
-            throw new InvalidArgumentException(
-                    "Cannot create reservations through workspace creation");
-        }
-
-        if (workspace.getCoworking() != null) {
-            throw new InvalidArgumentException(
-                    "Coworking should be specified through path variable,"
-                    + " not in request body");
-        }
-        Coworking coworking = coworkingRepository.findById(coworkingId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Coworking not found with id " + coworkingId));
+        validateNew(workspace);
+        Coworking coworking = findCoworking(coworkingId);
 
         workspace.setCoworking(coworking);
 
@@ -72,14 +78,60 @@ public class WorkspaceService {
 
         Workspace saved = workspaceRepository.save(workspace);
         workspaceCache.put(saved.getId(), saved);
+        eventPublisher.publishEvent(
+                CatalogChangedEvent.workspaces(coworkingId, List.of(saved.getId())));
         return saved;
     }
 
+    // Коворкинг читается один раз, имена проверяются одним IN-запросом и в памяти,
+    // вставки уходят JDBC batch за счет id из последовательности
     @Transactional
     public List<Workspace> createWorkspacesBulk(Long coworkingId, List<Workspace> workspaces) {
-        return workspaces.stream()
-                .map(workspace -> createWorkspace(coworkingId, workspace))
-                .toList();
+        if (workspaces.isEmpty()) {
+            return List.of();
+        }
+        Set<String> names = new HashSet<>(workspaces.size() * 2);
+        for (Workspace workspace : workspaces) {
+            validateNew(workspace);
+            if (!names.add(workspace.getName())) {
+                throw new AlreadyExistsException(
+                        "Duplicate workspace name in request: " + workspace.getName());
+            }
+        }
+        Coworking coworking = findCoworking(coworkingId);
+
+        List<String> existing = workspaceRepository.findExistingNames(coworkingId, names);
+        if (!existing.isEmpty()) {
+            throw new AlreadyExistsException(
+                    "Workspaces with these names already exist in the coworking: " + existing);
+        }
+
+        workspaces.forEach(workspace -> workspace.setCoworking(coworking));
+        List<Workspace> saved = workspaceRepository.saveAll(workspaces);
+        saved.forEach(workspace -> workspaceCache.put(workspace.getId(), workspace));
+        eventPublisher.publishEvent(CatalogChangedEvent.workspaces(coworkingId,
+                saved.stream().map(Workspace::getId).toList()));
+        return saved;
+    }
+
+    // Валидация: запрещаем передавать связанные сущности в теле запроса
+    private static void validateNew(Workspace workspace) {
+        if (workspace.getReservations() != null && !workspace.getReservations().isEmpty()) {
+            throw new InvalidArgumentException(
+                    "Cannot create reservations through workspace creation");
+        }
+
+        if (workspace.getCoworking() != null) {
+            throw new InvalidArgumentException(
+                    "Coworking should be specified through path variable,"
+                    + " not in request body");
+        }
+    }
+
+    private Coworking findCoworking(Long coworkingId) {
+        return coworkingRepository.findById(coworkingId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Coworking not found with id " + coworkingId));
     }
 
     @Transactional
@@ -112,18 +164,32 @@ public class WorkspaceService {
 
         Workspace saved = workspaceRepository.save(existing);
         workspaceCache.put(saved.getId(), saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.workspaces(
+                existing.getCoworking().getId(), List.of(saved.getId())));
         return saved;
     }
 
     @Transactional
     public void deleteWorkspace(Long id) {
-        Workspace existing = getWorkspaceById(id);
-        // Проверяем, есть ли связанные workspace
-        if (existing.getReservations() != null && !existing.getReservations().isEmpty()) {
-            throw new InvalidArgumentException("Cannot delete coworking with existing workspaces."
-                    + " Delete or move workspaces first.");
+        // Проверяем в БД, а не по коллекции: объект из кэша мог устареть
+        if (reservationRepository.existsByWorkspaceId(id)) {
+            throw new InvalidArgumentException("Cannot delete workspace with existing reservations."
+                    + " Delete reservations first.");
+        }
+        // коворкинг нужен только для события; пустой ответ — рабочего места нет
+        List<Long> coworkingIds = workspaceRepository.findCoworkingIds(List.of(id));
+        if (coworkingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Workspace not found with id " + id);
+        }
+        // броней нет, поэтому свертка, очередь ожидания и серии — только история и хвосты
+        dailyOccupancyRepository.deleteByWorkspaceId(id);
+        waitlistEntryRepository.deleteByWorkspaceId(id);
+        recurringReservationRepository.deleteEmptyByWorkspaceId(id);
+        if (workspaceRepository.deleteRowById(id) == 0) {
+            throw new ResourceNotFoundException("Workspace not found with id " + id);
         }
-        workspaceRepository.delete(existing);
         workspaceCache.remove(id);
+        eventPublisher.publishEvent(
+                CatalogChangedEvent.workspaces(coworkingIds.get(0), List.of(id)));
     }
 }
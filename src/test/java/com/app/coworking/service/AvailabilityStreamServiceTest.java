@@ -0,0 +1,175 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.WorkspaceAvailability;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityStreamServiceTest {
+
+    @Mock
+    private DailyOccupancyRepository dailyOccupancyRepository;
+
+    @Mock
+    private CoworkingRepository coworkingRepository;
+
+    private AvailabilityStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new AvailabilityStreamService(dailyOccupancyRepository,
+                coworkingRepository, new ObjectMapper(), 16, 1, Duration.ofMinutes(1),
+                Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.stop();
+    }
+
+    private static ReservationChange change(LocalDate start, LocalDate end) {
+        return new ReservationChange(ReservationChange.Type.CREATED, 1L, 1L, 5L, 9L,
+                start, end, ReservationStatus.CONFIRMED, null, null);
+    }
+
+    private static WorkspaceAvailability availability() {
+        return new WorkspaceAvailability(5L, 9L, "Room", WorkspaceType.MEETING_ROOM, 4, 1);
+    }
+
+    @Test
+    void subscribe_WhenCoworkingMissing_ShouldThrow() {
+        // Arrange
+        when(coworkingRepository.existsById(9L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> streamService.subscribe(9L));
+        assertEquals(0, streamService.subscriberCount());
+    }
+
+    @Test
+    void onReservationChanged_WhenChangeTouchesToday_ShouldReadAvailabilityOnce() {
+        // Arrange
+        when(coworkingRepository.existsById(9L)).thenReturn(true);
+        when(dailyOccupancyRepository.findAvailabilityByCoworkingId(eq(9L), any()))
+                .thenReturn(List.of(availability()));
+        when(dailyOccupancyRepository.findAvailabilityByWorkspaceIds(any(), any()))
+                .thenReturn(List.of(availability()));
+        streamService.subscribe(9L);
+        LocalDate today = LocalDate.now();
+
+        // Act
+        streamService.onReservationChanged(new ReservationChangedEvent(List.of(
+                change(today, today.plusDays(1)), change(today.minusDays(2), today))));
+
+        // Assert: диспетчер сливает оба изменения в один запрос
+        verify(dailyOccupancyRepository, timeout(1000).times(1))
+                .findAvailabilityByWorkspaceIds(eq(List.of(5L)), eq(today));
+        assertEquals(1, streamService.subscriberCount());
+    }
+
+    @Test
+    void dispatch_WhenChangeDoesNotTouchToday_ShouldSkipQuery() {
+        // Arrange
+        when(coworkingRepository.existsById(9L)).thenReturn(true);
+        streamService.subscribe(9L);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        // Act
+        streamService.onReservationChanged(ReservationChangedEvent.of(
+                change(tomorrow, tomorrow.plusDays(1))));
+        streamService.dispatch();
+
+        // Assert
+        verify(dailyOccupancyRepository, never()).findAvailabilityByWorkspaceIds(any(), any());
+    }
+
+    @Test
+    void offer_WhenBufferOverflows_ShouldDropSlowSubscriber() {
+        // Arrange: отправитель никогда не запускается, буфер на одно событие
+        List<SseSubscriber> closed = new ArrayList<>();
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(), 1, task -> { },
+                closed::add, () -> { });
+
+        // Act
+        boolean first = subscriber.offer(SseEmitter.event().data("1").build());
+        boolean second = subscriber.offer(SseEmitter.event().data("2").build());
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(subscriber.isClosed());
+        assertEquals(List.of(subscriber), closed);
+    }
+
+    @Test
+    void abandonIfStalled_WhenWriteBlocks_ShouldDetachAndCompleteAfterWriteReturns()
+            throws Exception {
+        // Arrange: запись клиенту висит, пока ее не отпустит тест
+        SseEmitter emitter = mock(SseEmitter.class);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return null;
+        }).when(emitter).send(anySet());
+        ExecutorService sender = Executors.newSingleThreadExecutor();
+        List<SseSubscriber> closed = new CopyOnWriteArrayList<>();
+        CountDownLatch returned = new CountDownLatch(1);
+        SseSubscriber subscriber = new SseSubscriber(emitter, 4, sender, closed::add,
+                returned::countDown);
+
+        try {
+            subscriber.offer(SseEmitter.event().data("1").build());
+            assertTrue(entered.await(1, TimeUnit.SECONDS));
+
+            // Act
+            boolean abandoned = subscriber.abandonIfStalled(
+                    System.nanoTime() + TimeUnit.SECONDS.toNanos(1),
+                    TimeUnit.MILLISECONDS.toNanos(1));
+
+            // Assert: сторож не ждет монитор emitter'а, complete вызывает сам отправитель
+            assertTrue(abandoned);
+            assertTrue(subscriber.isClosed());
+            assertEquals(List.of(subscriber), closed);
+            // verify(...).complete() на mock'е тоже ждал бы монитор, поэтому смотрим журнал вызовов
+            assertTrue(mockingDetails(emitter).getInvocations().stream()
+                    .noneMatch(invocation -> invocation.getMethod().getName().equals("complete")));
+            release.countDown();
+            assertTrue(returned.await(1, TimeUnit.SECONDS));
+            sender.shutdown();
+            assertTrue(sender.awaitTermination(1, TimeUnit.SECONDS));
+            verify(emitter).complete();
+        } finally {
+            release.countDown();
+            sender.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.BatchReservationItem;
+import com.app.coworking.dto.BatchReservationResult;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationJdbcRepository reservationJdbcRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReservationCache reservationCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private BatchReservationService batchReservationService;
+
+    private static Workspace workspace(Long id, WorkspaceType type, int capacity) {
+        Workspace workspace = new Workspace();
+        workspace.setId(id);
+        workspace.setType(type);
+        workspace.setCapacity(capacity);
+        return workspace;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    void createReservationsBatch_WhenAllAvailable_ShouldInsertAllInOneBatch() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(2);
+        Workspace desk = workspace(1L, WorkspaceType.FIXED_DESK, 1);
+        Workspace room = workspace(2L, WorkspaceType.MEETING_ROOM, 1);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(1L, start, end, null),
+                new BatchReservationItem(2L, start, end, "meeting"));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(desk, room));
+        when(reservationRepository.findReservedRanges(any(), eq(start), eq(end)))
+                .thenReturn(List.of());
+        doAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            long id = 100;
+            for (Reservation reservation : reservations) {
+                reservation.setId(id++);
+            }
+            return null;
+        }).when(reservationJdbcRepository).insertBatch(anyList());
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(1L, items);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.stream()
+                .allMatch(r -> r.status() == BatchReservationResult.Status.CREATED));
+        assertEquals(100L, results.get(0).reservationId());
+        assertEquals(101L, results.get(1).reservationId());
+        verify(reservationJdbcRepository, times(1)).insertBatch(anyList());
+        verify(reservationRepository, times(1)).findReservedRanges(any(), any(), any());
+        verify(reservationCache, times(2)).put(any(), any());
+    }
+
+    @Test
+    void createReservationsBatch_WhenOneItemConflicts_ShouldRejectWholeBatch() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(2);
+        Workspace desk = workspace(1L, WorkspaceType.FIXED_DESK, 1);
+        Workspace room = workspace(2L, WorkspaceType.MEETING_ROOM, 1);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(1L, start, end, null),
+                new BatchReservationItem(2L, start, end, null));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(desk, room));
+        when(reservationRepository.findReservedRanges(any(), any(), any()))
+                .thenReturn(List.of(new ReservedRange(2L, start, start)));
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(1L, items);
+
+        // Assert
+        assertEquals(BatchReservationResult.Status.SKIPPED, results.get(0).status());
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(1).status());
+        assertNotNull(results.get(1).error());
+        verify(reservationJdbcRepository, never()).insertBatch(anyList());
+        verify(reservationCache, never()).put(any(), any());
+    }
+
+    @Test
+    void createReservationsBatch_WhenItemsOverlapEachOther_ShouldRejectSecondItem() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(3);
+        Workspace room = workspace(2L, WorkspaceType.MEETING_ROOM, 1);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(2L, start, end, null),
+                new BatchReservationItem(2L, end, end.plusDays(1), null));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(room));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(1L, items);
+
+        // Assert
+        assertEquals(BatchReservationResult.Status.SKIPPED, results.get(0).status());
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(1).status());
+        verify(reservationJdbcRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void createReservationsBatch_WhenOpenSpaceHasCapacity_ShouldAcceptUpToCapacity() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(1);
+        Workspace openSpace = workspace(3L, WorkspaceType.OPEN_SPACE, 2);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(3L, start, end, null),
+                new BatchReservationItem(3L, start, end, null),
+                new BatchReservationItem(3L, start, end, null));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(openSpace));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(1L, items);
+
+        // Assert
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(2).status());
+        verify(reservationJdbcRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void createReservationsBatch_WhenWorkspaceNotFound_ShouldRejectItem() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(999L, start, start, null));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(1L, items);
+
+        // Assert
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(0).status());
+        verify(reservationRepository, never()).findReservedRanges(any(), any(), any());
+        verify(reservationJdbcRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void createReservationsBatch_WhenUserNotFound_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(1L, start, start, null));
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> batchReservationService.createReservationsBatch(999L, items));
+        verify(reservationJdbcRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void createReservationsBatch_WhenEmpty_ShouldThrowInvalidArgumentException() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> batchReservationService.createReservationsBatch(1L, List.of()));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void createReservationsBatch_WhenItemFieldIsNull_ShouldRejectItemAndSkipRest() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(2);
+        Workspace desk = workspace(1L, WorkspaceType.FIXED_DESK, 1);
+        List<BatchReservationItem> items = Arrays.asList(
+                new BatchReservationItem(1L, start, end, null),
+                new BatchReservationItem(null, start, null, null),
+                null);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user(5L)));
+        when(workspaceRepository.findAllById(Set.of(1L))).thenReturn(List.of(desk));
+        when(reservationRepository.findReservedRanges(any(), eq(start), eq(end)))
+                .thenReturn(List.of());
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(5L, items);
+
+        // Assert
+        assertEquals(BatchReservationResult.Status.SKIPPED, results.get(0).status());
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(1).status());
+        assertTrue(results.get(1).error().contains("endDate: End date is required"));
+        assertTrue(results.get(1).error().contains("workspaceId: Workspace id is required"));
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(2).status());
+        verify(reservationJdbcRepository, never()).insertBatch(any());
+    }
+
+    @Test
+    void createReservationsBatch_WhenStartDateInPast_ShouldRejectWithoutLookups() {
+        // Arrange
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<BatchReservationItem> items = List.of(
+                new BatchReservationItem(1L, yesterday, LocalDate.now().plusDays(1), null));
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user(5L)));
+
+        // Act
+        List<BatchReservationResult> results =
+                batchReservationService.createReservationsBatch(5L, items);
+
+        // Assert
+        assertEquals(BatchReservationResult.Status.REJECTED, results.get(0).status());
+        assertEquals("startDate: Start date cannot be in the past", results.get(0).error());
+        verifyNoInteractions(workspaceRepository, reservationRepository);
+    }
+}
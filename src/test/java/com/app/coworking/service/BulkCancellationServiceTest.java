@@ -0,0 +1,96 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.BulkCancelRequest;
+import com.app.coworking.dto.BulkCancelResult;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCancellationServiceTest {
+
+    @Mock
+    private ReservationJdbcRepository reservationJdbcRepository;
+
+    @Mock
+    private ReservationCache reservationCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BulkCancellationService bulkCancellationService;
+
+    private static ReservationChange deleted(Long id) {
+        LocalDate day = LocalDate.now().plusDays(id);
+        return new ReservationChange(ReservationChange.Type.DELETED, id, 1L, 5L, 9L,
+                day, day, ReservationStatus.CONFIRMED, null, null);
+    }
+
+    @Test
+    void cancelReservations_WhenWorkspaceGiven_ShouldDeleteFromTodayAndPublishOneEvent() {
+        // Arrange
+        when(reservationJdbcRepository.deleteMatching(5L, null, LocalDate.now(), null))
+                .thenReturn(List.of(deleted(1L), deleted(2L), deleted(3L)));
+
+        // Act
+        BulkCancelResult result = bulkCancellationService.cancelReservations(
+                new BulkCancelRequest(5L, null, null, null));
+
+        // Assert
+        assertEquals(3, result.cancelled());
+        verify(reservationCache).removeAll(List.of(1L, 2L, 3L));
+        ArgumentCaptor<ReservationChangedEvent> captor =
+                ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(3, captor.getValue().changes().size());
+    }
+
+    @Test
+    void cancelReservations_WhenNothingMatched_ShouldNotPublish() {
+        // Arrange
+        when(reservationJdbcRepository.deleteMatching(any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        BulkCancelResult result = bulkCancellationService.cancelReservations(
+                new BulkCancelRequest(null, 9L, null, null));
+
+        // Assert
+        assertEquals(0, result.cancelled());
+        verifyNoInteractions(reservationCache, eventPublisher);
+    }
+
+    @Test
+    void cancelReservations_WhenNoFilter_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () -> bulkCancellationService
+                .cancelReservations(new BulkCancelRequest(null, null, null, null)));
+        verifyNoInteractions(reservationJdbcRepository);
+    }
+
+    @Test
+    void cancelReservations_WhenRangeInverted_ShouldThrow() {
+        // Act & Assert
+        LocalDate from = LocalDate.now().plusDays(5);
+        assertThrows(InvalidArgumentException.class, () -> bulkCancellationService
+                .cancelReservations(new BulkCancelRequest(5L, null, from, from.minusDays(1))));
+    }
+}
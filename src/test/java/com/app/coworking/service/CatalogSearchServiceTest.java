@@ -0,0 +1,69 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.SearchHit;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.CatalogSearchJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSearchServiceTest {
+
+    @Mock
+    private CatalogSearchJdbcRepository catalogSearchJdbcRepository;
+
+    @InjectMocks
+    private CatalogSearchService catalogSearchService;
+
+    @Test
+    void search_WhenMoreHitsThanPage_ShouldReturnCursorThatResumesAfterLastHit() {
+        // Arrange
+        SearchHit first = new SearchHit(SearchHit.Kind.COWORKING, 3L, 3L, "Loft", 0.6f);
+        SearchHit second = new SearchHit(SearchHit.Kind.WORKSPACE, 8L, 3L, "Loft desk", 0.1f);
+        when(catalogSearchJdbcRepository.search("loft", null, 2))
+                .thenReturn(List.of(first, second));
+        when(catalogSearchJdbcRepository.search(eq("loft"), notNull(), eq(2)))
+                .thenReturn(List.of(second));
+
+        // Act
+        KeysetPage<SearchHit> page = catalogSearchService.search(" loft ", null, 1);
+        KeysetPage<SearchHit> next = catalogSearchService.search("loft", page.nextCursor(), 1);
+
+        // Assert
+        assertEquals(List.of(first), page.items());
+        assertEquals(List.of(second), next.items());
+        assertNull(next.nextCursor());
+        ArgumentCaptor<SearchHit> after = ArgumentCaptor.forClass(SearchHit.class);
+        verify(catalogSearchJdbcRepository, times(2)).search(eq("loft"), after.capture(), eq(2));
+        assertNull(after.getAllValues().get(0));
+        assertEquals(SearchHit.Kind.COWORKING, after.getValue().kind());
+        assertEquals(3L, after.getValue().id());
+        assertEquals(0.6f, after.getValue().rank());
+    }
+
+    @Test
+    void search_WhenQueryBlank_ShouldThrowInvalidArgument() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> catalogSearchService.search("  ", null, null));
+        verifyNoInteractions(catalogSearchJdbcRepository);
+    }
+
+    @Test
+    void search_WhenCursorMalformed_ShouldThrowInvalidArgument() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> catalogSearchService.search("loft", "not-a-cursor", null));
+    }
+}
@@ -0,0 +1,185 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.CatalogCoworking;
+import com.app.coworking.dto.CoworkingView;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.WorkspaceFilter;
+import com.app.coworking.dto.WorkspaceView;
+import com.app.coworking.event.CatalogChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceTest {
+
+    @Mock
+    private CoworkingRepository coworkingRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CatalogService catalogService;
+
+    private static CoworkingView coworking(Long id, String name) {
+        return new CoworkingView(id, name, "Main st " + id, null, null, null);
+    }
+
+    private static WorkspaceView workspace(Long id, Long coworkingId, String name,
+                                           WorkspaceType type, int capacity) {
+        return new WorkspaceView(id, coworkingId, name, type, capacity, null);
+    }
+
+    private void loadCatalog() {
+        when(coworkingRepository.findAllViews()).thenReturn(List.of(
+                coworking(1L, "Alpha"), coworking(2L, "Beta")));
+        when(workspaceRepository.findAllViews()).thenReturn(List.of(
+                workspace(3L, 1L, "Hall_A1", WorkspaceType.OPEN_SPACE, 4),
+                workspace(5L, 1L, "HallB1", WorkspaceType.OPEN_SPACE, 6),
+                workspace(7L, 1L, "Hall_A2", WorkspaceType.OPEN_SPACE, 8),
+                workspace(9L, 2L, "Hall_A3", WorkspaceType.OPEN_SPACE, 8),
+                workspace(11L, 1L, "hall_a4", WorkspaceType.OPEN_SPACE, 9)));
+        catalogService.reload();
+    }
+
+    @Test
+    void getCoworking_WhenLoaded_ShouldReturnCoworkingWithItsWorkspaces() {
+        // Arrange
+        loadCatalog();
+
+        // Act
+        CatalogCoworking result = catalogService.getCoworking(1L);
+
+        // Assert
+        assertEquals("Alpha", result.name());
+        assertEquals(List.of(3L, 5L, 7L, 11L),
+                result.workspaces().stream().map(WorkspaceView::id).toList());
+        assertThrows(ResourceNotFoundException.class, () -> catalogService.getCoworking(42L));
+    }
+
+    @Test
+    void searchWorkspaces_WhenMoreRowsThanPage_ShouldMatchPrefixLiterallyAndReturnCursor() {
+        // Arrange
+        loadCatalog();
+        WorkspaceFilter filter = new WorkspaceFilter(1L, WorkspaceType.OPEN_SPACE, 2, 8,
+                "Hall_A");
+
+        // Act
+        KeysetPage<WorkspaceView> first = catalogService.searchWorkspaces(filter, null, 1);
+        KeysetPage<WorkspaceView> second =
+                catalogService.searchWorkspaces(filter, first.nextCursor(), 1);
+
+        // Assert
+        assertEquals(List.of(3L), first.items().stream().map(WorkspaceView::id).toList());
+        assertNotNull(first.nextCursor());
+        assertEquals(List.of(7L), second.items().stream().map(WorkspaceView::id).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void searchWorkspaces_WhenMaxCapacityBelowMin_ShouldThrowInvalidArgument() {
+        // Arrange
+        WorkspaceFilter filter = new WorkspaceFilter(null, null, 5, 2, null);
+
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> catalogService.searchWorkspaces(filter, null, null));
+        verifyNoInteractions(workspaceRepository);
+    }
+
+    @Test
+    void onCatalogChanged_WhenWorkspaceDeleted_ShouldReloadOnlyAffectedRows() {
+        // Arrange
+        loadCatalog();
+        CatalogSnapshot before = catalogService.snapshot();
+        when(coworkingRepository.findViewsByIds(Set.of(1L)))
+                .thenReturn(List.of(coworking(1L, "Alpha renamed")));
+        when(workspaceRepository.findViewsByIds(Set.of(5L))).thenReturn(List.of());
+
+        // Act
+        catalogService.onCatalogChanged(CatalogChangedEvent.workspaces(1L, List.of(5L)));
+
+        // Assert
+        CatalogSnapshot after = catalogService.snapshot();
+        assertEquals(before.version() + 1, after.version());
+        assertEquals("Alpha renamed", after.coworking(1L).name());
+        assertNull(after.workspace(5L));
+        assertEquals(List.of(3L, 7L, 11L),
+                after.workspacesOf(1L).stream().map(WorkspaceView::id).toList());
+        assertNotNull(before.workspace(5L));
+        verify(workspaceRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void getWorkspacesPage_WhenCursorGiven_ShouldContinueAfterIt() {
+        // Arrange
+        loadCatalog();
+        String cursor = KeysetPaging.encode(5L);
+
+        // Act
+        KeysetPage<WorkspaceView> page = catalogService.getWorkspacesPage(null, cursor, 2);
+
+        // Assert
+        assertEquals(List.of(7L, 9L), page.items().stream().map(WorkspaceView::id).toList());
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    void getWorkspaceJson_WhenReadTwice_ShouldSerializeOnce() throws Exception {
+        // Arrange
+        loadCatalog();
+
+        // Act
+        byte[] first = catalogService.getWorkspaceJson(3L);
+        byte[] second = catalogService.getWorkspaceJson(3L);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("Hall_A1", objectMapper.readTree(first).get("name").asText());
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+        assertThrows(ResourceNotFoundException.class, () -> catalogService.getWorkspaceJson(4L));
+    }
+
+    @Test
+    void getCoworkingJson_WhenItsWorkspaceChanged_ShouldReserializeOnlyAffectedEntries() {
+        // Arrange
+        loadCatalog();
+        byte[] alpha = catalogService.getCoworkingJson(1L);
+        byte[] beta = catalogService.getCoworkingJson(2L);
+        byte[] untouched = catalogService.getWorkspaceJson(3L);
+        byte[] list = catalogService.getWorkspacesJson();
+        when(coworkingRepository.findViewsByIds(Set.of(1L)))
+                .thenReturn(List.of(coworking(1L, "Alpha")));
+        when(workspaceRepository.findViewsByIds(Set.of(5L)))
+                .thenReturn(List.of(workspace(5L, 1L, "HallB1", WorkspaceType.OPEN_SPACE, 12)));
+
+        // Act
+        catalogService.onCatalogChanged(CatalogChangedEvent.workspaces(1L, List.of(5L)));
+
+        // Assert
+        assertNotSame(alpha, catalogService.getCoworkingJson(1L));
+        assertSame(beta, catalogService.getCoworkingJson(2L));
+        assertSame(untouched, catalogService.getWorkspaceJson(3L));
+        assertNotSame(list, catalogService.getWorkspacesJson());
+    }
+}
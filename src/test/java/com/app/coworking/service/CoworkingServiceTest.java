@@ -1,21 +1,23 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.CoworkingCache;
+import com.app.coworking.event.CatalogChangedEvent;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
 import com.app.coworking.model.Coworking;
 import com.app.coworking.model.Workspace;
 import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.WorkspaceRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +34,12 @@ class CoworkingServiceTest {
     @Mock
     private CoworkingCache coworkingCache;
 
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CoworkingService coworkingService;
 
@@ -86,22 +94,6 @@ class CoworkingServiceTest {
         verify(coworkingRepository, times(1)).findById(id);
     }
 
-    @Test
-    void getAllCoworkings_ShouldReturnList() {
-        // Arrange
-        Coworking coworking1 = new Coworking();
-        Coworking coworking2 = new Coworking();
-        List<Coworking> expectedList = Arrays.asList(coworking1, coworking2);
-        when(coworkingRepository.findAll()).thenReturn(expectedList);
-
-        // Act
-        List<Coworking> result = coworkingService.getAllCoworkings();
-
-        // Assert
-        assertEquals(2, result.size());
-        verify(coworkingRepository, times(1)).findAll();
-    }
-
     @Test
     void createCoworking_WhenValidData_ShouldSaveAndCache() {
         // Arrange
@@ -113,7 +105,11 @@ class CoworkingServiceTest {
 
         when(coworkingRepository.existsByName(anyString())).thenReturn(false);
         when(coworkingRepository.existsByAddress(anyString())).thenReturn(false);
-        when(coworkingRepository.save(any(Coworking.class))).thenReturn(coworking);
+        when(coworkingRepository.save(any(Coworking.class))).thenAnswer(invocation -> {
+            Coworking saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
 
         // Act
         Coworking result = coworkingService.createCoworking(coworking);
@@ -252,34 +248,46 @@ class CoworkingServiceTest {
     void deleteCoworking_WhenNoWorkspaces_ShouldDeleteAndRemoveFromCache() {
         // Arrange
         Long id = 1L;
-        Coworking existing = new Coworking();
-        existing.setId(id);
-        existing.setWorkspaces(new HashSet<>());
-
-        when(coworkingCache.get(id)).thenReturn(existing);
+        when(workspaceRepository.existsByCoworkingId(id)).thenReturn(false);
+        when(coworkingRepository.deleteRowById(id)).thenReturn(1);
 
         // Act
         coworkingService.deleteCoworking(id);
 
         // Assert
-        verify(coworkingRepository, times(1)).delete(existing);
+        verify(coworkingRepository, times(1)).deleteRowById(id);
+        verify(coworkingRepository, never()).findById(any());
         verify(coworkingCache, times(1)).remove(id);
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.coworking(id));
     }
 
     @Test
     void deleteCoworking_WhenHasWorkspaces_ShouldThrowInvalidArgumentException() {
         // Arrange
         Long id = 1L;
-        Coworking existing = new Coworking();
-        existing.setId(id);
-        Workspace workspace = new Workspace();
-        existing.setWorkspaces(new HashSet<>(Arrays.asList(workspace)));
-
-        when(coworkingCache.get(id)).thenReturn(existing);
+        // коллекция в кэше устарела — решает только EXISTS в БД
+        Coworking cached = new Coworking();
+        cached.setId(id);
+        cached.setWorkspaces(new HashSet<>());
+        lenient().when(coworkingCache.get(id)).thenReturn(cached);
+        when(workspaceRepository.existsByCoworkingId(id)).thenReturn(true);
 
         // Act & Assert
         assertThrows(InvalidArgumentException.class, () -> coworkingService.deleteCoworking(id));
-        verify(coworkingRepository, never()).delete(any());
+        verify(coworkingRepository, never()).deleteRowById(any());
+        verify(coworkingCache, never()).remove(any());
+    }
+
+    @Test
+    void deleteCoworking_WhenCoworkingNotFound_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        Long id = 999L;
+        when(workspaceRepository.existsByCoworkingId(id)).thenReturn(false);
+        when(coworkingRepository.deleteRowById(id)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> coworkingService.deleteCoworking(id));
+        verify(coworkingCache, never()).remove(any());
     }
 
     @Test
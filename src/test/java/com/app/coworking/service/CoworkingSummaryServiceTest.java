@@ -0,0 +1,134 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.CoworkingSummary;
+import com.app.coworking.dto.CoworkingTypeAggregate;
+import com.app.coworking.event.CatalogChangedEvent;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoworkingSummaryServiceTest {
+
+    @Mock
+    private CoworkingRepository coworkingRepository;
+
+    @InjectMocks
+    private CoworkingSummaryService coworkingSummaryService;
+
+    private static CoworkingTypeAggregate row(Long id, WorkspaceType type, long count,
+                                              Long capacity) {
+        return new CoworkingTypeAggregate(id, "Hub " + id, "Street " + id, type, count, capacity);
+    }
+
+    @Test
+    void getSummaries_ShouldGroupTypesAndCacheResult() {
+        // Arrange
+        when(coworkingRepository.aggregateByType()).thenReturn(List.of(
+                row(1L, WorkspaceType.OPEN_SPACE, 2, 40L),
+                row(1L, WorkspaceType.MEETING_ROOM, 3, 18L),
+                row(2L, null, 0, null)));
+
+        // Act
+        List<CoworkingSummary> first = coworkingSummaryService.getSummaries();
+        List<CoworkingSummary> second = coworkingSummaryService.getSummaries();
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(new CoworkingSummary(1L, "Hub 1", "Street 1", 5, 58,
+                Map.of(WorkspaceType.OPEN_SPACE, 2L, WorkspaceType.MEETING_ROOM, 3L)),
+                first.get(0));
+        assertEquals(new CoworkingSummary(2L, "Hub 2", "Street 2", 0, 0, Map.of()),
+                first.get(1));
+        verify(coworkingRepository, times(1)).aggregateByType();
+    }
+
+    @Test
+    void onCatalogChanged_ShouldReloadOnlyChangedCoworkings() {
+        // Arrange
+        when(coworkingRepository.aggregateByType()).thenReturn(List.of(
+                row(1L, WorkspaceType.OPEN_SPACE, 1, 10L),
+                row(2L, WorkspaceType.OFFICE, 1, 4L)));
+        coworkingSummaryService.getSummaries();
+        when(coworkingRepository.aggregateByType(Set.of(2L, 3L))).thenReturn(List.of(
+                row(3L, WorkspaceType.FIXED_DESK, 1, 1L)));
+
+        // Act
+        coworkingSummaryService.onCatalogChanged(CatalogChangedEvent.workspaces(3L, List.of(9L)));
+        coworkingSummaryService.onCatalogChanged(CatalogChangedEvent.coworking(2L));
+        List<CoworkingSummary> summaries = coworkingSummaryService.getSummaries();
+
+        // Assert
+        assertEquals(List.of(1L, 3L), summaries.stream().map(CoworkingSummary::id).toList());
+        verify(coworkingRepository, times(1)).aggregateByType();
+        assertThrows(ResourceNotFoundException.class,
+                () -> coworkingSummaryService.getSummary(2L));
+    }
+
+    @Test
+    void onCatalogChanged_WhenFull_ShouldReloadEverything() {
+        // Arrange
+        when(coworkingRepository.aggregateByType()).thenReturn(List.of());
+        coworkingSummaryService.getSummaries();
+
+        // Act
+        coworkingSummaryService.onCatalogChanged(CatalogChangedEvent.everything());
+        coworkingSummaryService.getSummaries();
+
+        // Assert
+        verify(coworkingRepository, times(2)).aggregateByType();
+        verify(coworkingRepository, never()).aggregateByType(anyCollection());
+    }
+
+    @Test
+    void onCatalogChanged_WhenReloadIsRunning_ShouldMarkWithoutWaiting() throws Exception {
+        // Arrange: полная загрузка висит, пока ее не отпустит тест
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(coworkingRepository.aggregateByType()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return List.of(row(1L, WorkspaceType.OPEN_SPACE, 1, 10L));
+        });
+        when(coworkingRepository.aggregateByType(Set.of(1L))).thenReturn(List.of(
+                row(1L, WorkspaceType.OPEN_SPACE, 2, 20L)));
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<List<CoworkingSummary>> first = reader.submit(
+                    coworkingSummaryService::getSummaries);
+            assertTrue(entered.await(1, TimeUnit.SECONDS));
+
+            // Act
+            CompletableFuture.runAsync(() -> coworkingSummaryService.onCatalogChanged(
+                    CatalogChangedEvent.coworking(1L))).get(1, TimeUnit.SECONDS);
+            release.countDown();
+
+            // Assert: пометка пришла во время загрузки и применяется следующим чтением
+            assertEquals(10, first.get(1, TimeUnit.SECONDS).get(0).totalCapacity());
+            assertEquals(20, coworkingSummaryService.getSummary(1L).totalCapacity());
+        } finally {
+            release.countDown();
+            reader.shutdownNow();
+        }
+    }
+}
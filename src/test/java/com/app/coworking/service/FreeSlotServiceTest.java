@@ -0,0 +1,136 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.FreeSlot;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreeSlotServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 3, 1);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @InjectMocks
+    private FreeSlotService freeSlotService;
+
+    private static ReservedRange range(int startDay, int endDay) {
+        return new ReservedRange(1L, FROM.withDayOfMonth(startDay), FROM.withDayOfMonth(endDay));
+    }
+
+    private static Workspace workspace(WorkspaceType type, Integer capacity) {
+        Workspace workspace = new Workspace();
+        workspace.setId(1L);
+        workspace.setType(type);
+        workspace.setCapacity(capacity);
+        return workspace;
+    }
+
+    @Test
+    void findFreeSlots_WhenRoomHasGaps_ShouldSkipGapsShorterThanDays() {
+        // Arrange
+        when(workspaceRepository.findById(1L))
+                .thenReturn(Optional.of(workspace(WorkspaceType.MEETING_ROOM, 1)));
+        when(reservationRepository.findReservedRangesFrom(1L, FROM))
+                .thenReturn(List.of(range(1, 3), range(5, 6), range(10, 12)));
+
+        // Act
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(1L, FROM, 3, 2);
+
+        // Assert
+        assertEquals(List.of(
+                new FreeSlot(FROM.withDayOfMonth(7), FROM.withDayOfMonth(9),
+                        FROM.withDayOfMonth(9)),
+                new FreeSlot(FROM.withDayOfMonth(13), FROM.withDayOfMonth(15), null)), slots);
+    }
+
+    @Test
+    void findFreeSlots_WhenOpenSpace_ShouldBeBlockedOnlyAtCapacity() {
+        // Arrange
+        when(workspaceRepository.findById(1L))
+                .thenReturn(Optional.of(workspace(WorkspaceType.OPEN_SPACE, 2)));
+        when(reservationRepository.findReservedRangesFrom(1L, FROM))
+                .thenReturn(List.of(range(1, 4), range(3, 5), range(4, 8)));
+
+        // Act
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(1L, FROM, 2, null);
+
+        // Assert
+        assertEquals(List.of(
+                new FreeSlot(FROM.withDayOfMonth(1), FROM.withDayOfMonth(2),
+                        FROM.withDayOfMonth(2)),
+                new FreeSlot(FROM.withDayOfMonth(6), FROM.withDayOfMonth(7), null)), slots);
+    }
+
+    @Test
+    void findFreeSlots_WhenOpenSpaceWindowCoversDisjointReservations_ShouldCountBothLikeBooking() {
+        // Arrange
+        // пик занятости по дням — 1, но окно 1..6 пересекают две брони: бронирование его отклонит
+        when(workspaceRepository.findById(1L))
+                .thenReturn(Optional.of(workspace(WorkspaceType.OPEN_SPACE, 2)));
+        when(reservationRepository.findReservedRangesFrom(1L, FROM))
+                .thenReturn(List.of(range(1, 2), range(5, 6)));
+
+        // Act
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(1L, FROM, 6, 1);
+
+        // Assert
+        assertEquals(List.of(new FreeSlot(FROM.withDayOfMonth(3), FROM.withDayOfMonth(8), null)),
+                slots);
+    }
+
+    @Test
+    void findFreeSlots_WhenNoReservations_ShouldReturnOpenSlotFromStart() {
+        // Arrange
+        when(workspaceRepository.findById(1L))
+                .thenReturn(Optional.of(workspace(WorkspaceType.MEETING_ROOM, 1)));
+        when(reservationRepository.findReservedRangesFrom(1L, FROM)).thenReturn(List.of());
+
+        // Act
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(1L, FROM, 1, 3);
+
+        // Assert
+        assertEquals(List.of(new FreeSlot(FROM, FROM, null)), slots);
+    }
+
+    @Test
+    void findFreeSlots_WhenWorkspaceMissing_ShouldThrowResourceNotFound() {
+        // Arrange
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> freeSlotService.findFreeSlots(1L, FROM, 1, 1));
+        verify(reservationRepository, never()).findReservedRangesFrom(anyLong(), any());
+    }
+
+    @Test
+    void findFreeSlots_WhenDaysInvalid_ShouldThrowInvalidArgument() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> freeSlotService.findFreeSlots(1L, FROM, 0, 1));
+        verifyNoInteractions(workspaceRepository);
+    }
+}
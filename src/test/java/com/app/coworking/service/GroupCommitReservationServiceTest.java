@@ -0,0 +1,278 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.AlreadyExistsException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Coworking;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import com.app.coworking.service.GroupCommitReservationService.PendingReservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitReservationServiceTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationJdbcRepository reservationJdbcRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReservationCache reservationCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private GroupCommitReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GroupCommitReservationService(reservationService, reservationRepository,
+                reservationJdbcRepository, workspaceRepository, userRepository, reservationCache,
+                transactionTemplate, eventPublisher, false, Duration.ofMillis(5), 64, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static Workspace meetingRoom() {
+        Coworking coworking = new Coworking();
+        coworking.setId(9L);
+        Workspace workspace = new Workspace();
+        workspace.setId(1L);
+        workspace.setType(WorkspaceType.MEETING_ROOM);
+        workspace.setCapacity(1);
+        workspace.setCoworking(coworking);
+        return workspace;
+    }
+
+    private static PendingReservation pending(Long workspaceId, LocalDate start) {
+        Reservation reservation = new Reservation();
+        reservation.setStartDate(start);
+        reservation.setEndDate(start.plusDays(1));
+        return new PendingReservation(workspaceId, 2L, reservation);
+    }
+
+    @Test
+    void commitBatch_WhenItemsCompeteForSameRoom_ShouldAcceptFirstAndRejectSecond() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        LocalDate start = LocalDate.now().plusDays(3);
+        PendingReservation first = pending(1L, start);
+        PendingReservation second = pending(1L, start.plusDays(1));
+        PendingReservation unknown = pending(7L, start);
+        runTransactionsInline();
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(meetingRoom()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        service.commitBatch(List.of(first, second, unknown));
+
+        // Assert
+        assertSame(first.reservation(), first.result().join());
+        ExecutionException conflict = assertThrows(ExecutionException.class,
+                () -> second.result().get());
+        assertInstanceOf(AlreadyExistsException.class, conflict.getCause());
+        ExecutionException missing = assertThrows(ExecutionException.class,
+                () -> unknown.result().get());
+        assertInstanceOf(ResourceNotFoundException.class, missing.getCause());
+        verify(reservationJdbcRepository, times(1)).insertBatch(List.of(first.reservation()));
+        verify(reservationCache).put(first.reservation().getId(), first.reservation());
+        ArgumentCaptor<ReservationChangedEvent> captor =
+                ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(1, captor.getValue().changes().size());
+    }
+
+    @Test
+    void commitBatch_WhenTransactionFails_ShouldRetryAcceptedOneByOne() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        PendingReservation first = pending(1L, LocalDate.now().plusDays(3));
+        runTransactionsInline();
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(meetingRoom()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+        doThrow(new IllegalStateException("db down"))
+                .when(reservationJdbcRepository).insertBatch(any());
+        Reservation created = new Reservation();
+        when(reservationService.createReservation(eq(1L), eq(2L), any())).thenReturn(created);
+
+        // Act
+        service.commitBatch(List.of(first));
+
+        // Assert
+        assertSame(created, first.result().join());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void commitBatch_WhenCommitFailsAfterInsert_ShouldNotCacheRolledBackReservations() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        PendingReservation first = pending(1L, LocalDate.now().plusDays(3));
+        // вставка прошла, но коммит (или BEFORE_COMMIT-слушатель) упал
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            throw new IllegalStateException("commit failed");
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(meetingRoom()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            List<Reservation> inserted = invocation.getArgument(0);
+            inserted.forEach(reservation -> reservation.setId(41L));
+            return null;
+        }).when(reservationJdbcRepository).insertBatch(any());
+        Reservation created = new Reservation();
+        when(reservationService.createReservation(eq(1L), eq(2L), any())).thenReturn(created);
+
+        // Act
+        service.commitBatch(List.of(first));
+
+        // Assert
+        assertSame(created, first.result().join());
+        verifyNoInteractions(reservationCache);
+    }
+
+    @Test
+    void commitBatch_WhenLookupFailsBeforeClassification_ShouldRetryEveryItem() {
+        // Arrange
+        PendingReservation first = pending(1L, LocalDate.now().plusDays(3));
+        PendingReservation second = pending(1L, LocalDate.now().plusDays(5));
+        runTransactionsInline();
+        when(workspaceRepository.findAllById(any()))
+                .thenThrow(new IllegalStateException("db down"));
+        Reservation created = new Reservation();
+        when(reservationService.createReservation(eq(1L), eq(2L), any())).thenReturn(created);
+
+        // Act
+        service.commitBatch(List.of(first, second));
+
+        // Assert
+        assertSame(created, first.result().join());
+        assertSame(created, second.result().join());
+        verify(reservationService, times(2)).createReservation(eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void commitBatch_WhenCallerAbandonedRequest_ShouldSkipIt() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        PendingReservation abandoned = pending(1L, LocalDate.now().plusDays(3));
+        assertTrue(abandoned.abandon());
+        runTransactionsInline();
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(meetingRoom()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        service.commitBatch(List.of(abandoned));
+
+        // Assert
+        assertFalse(abandoned.result().isDone());
+        verify(reservationJdbcRepository).insertBatch(List.of());
+        verifyNoInteractions(eventPublisher, reservationService);
+    }
+
+    @Test
+    void createReservation_WhenBatchThrowsError_ShouldFailRequestAndKeepCommitterRunning()
+            throws Exception {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        GroupCommitReservationService enabled = new GroupCommitReservationService(
+                reservationService, reservationRepository, reservationJdbcRepository,
+                workspaceRepository, userRepository, reservationCache, transactionTemplate,
+                eventPublisher, true, Duration.ofMillis(1), 64, 100);
+        doThrow(new AssertionError("boom"))
+                .doAnswer(invocation -> {
+                    @SuppressWarnings("unchecked")
+                    Consumer<TransactionStatus> callback = invocation.getArgument(0);
+                    callback.accept(null);
+                    return null;
+                })
+                .when(transactionTemplate).executeWithoutResult(any());
+        when(workspaceRepository.findAllById(any())).thenReturn(List.of(meetingRoom()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(reservationRepository.findReservedRanges(any(), any(), any())).thenReturn(List.of());
+        enabled.start();
+
+        try {
+            // Act
+            Reservation failed = pending(1L, LocalDate.now().plusDays(3)).reservation();
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                    () -> enabled.createReservation(1L, 2L, failed));
+            Reservation next = pending(1L, LocalDate.now().plusDays(3)).reservation();
+            Reservation created = enabled.createReservation(1L, 2L, next);
+
+            // Assert
+            assertInstanceOf(AssertionError.class, ex.getCause());
+            assertSame(next, created);
+        } finally {
+            enabled.stop();
+        }
+    }
+
+    @Test
+    void createReservation_WhenDisabled_ShouldDelegateDirectly() {
+        // Arrange
+        Reservation reservation = new Reservation();
+        when(reservationService.createReservation(1L, 2L, reservation)).thenReturn(reservation);
+
+        // Act
+        Reservation result = service.createReservation(1L, 2L, reservation);
+
+        // Assert
+        assertSame(reservation, result);
+        verifyNoInteractions(transactionTemplate);
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.coworking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void advance_ShouldReturnOnlyExpiredTimers() {
+        // Arrange
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 8, 0);
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(2L, 5_000);
+
+        // Act
+        List<Long> first = wheel.advance(2_000);
+        List<Long> second = wheel.advance(4_000);
+        List<Long> third = wheel.advance(5_000);
+
+        // Assert
+        assertEquals(List.of(1L), first);
+        assertTrue(second.isEmpty());
+        assertEquals(List.of(2L), third);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_WhenDeadlineIsSeveralRoundsAway_ShouldWaitForRightRound() {
+        // Arrange
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 4, 0);
+        wheel.schedule(1L, 10_000);
+
+        // Act & Assert
+        assertTrue(wheel.advance(3_000).isEmpty());
+        assertTrue(wheel.advance(9_000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(10_000));
+    }
+
+    @Test
+    void cancel_ShouldPreventExpiry() {
+        // Arrange
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 8, 0);
+        wheel.schedule(1L, 2_000);
+
+        // Act
+        wheel.cancel(1L);
+
+        // Assert
+        assertTrue(wheel.advance(3_000).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_WhenDeadlineAlreadyPassed_ShouldExpireOnNextTick() {
+        // Arrange
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 8, 10_000);
+
+        // Act
+        wheel.schedule(1L, 1_000);
+
+        // Assert
+        assertEquals(List.of(1L), wheel.advance(11_000));
+    }
+
+    @Test
+    void advance_WhenWholeRoundWasSkipped_ShouldExpireEverythingDue() {
+        // Arrange
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 4, 0);
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(2L, 50_000);
+
+        // Act
+        List<Long> expired = wheel.advance(20_000);
+
+        // Assert
+        assertEquals(List.of(1L), expired);
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(2L), wheel.advance(50_000));
+    }
+}
@@ -0,0 +1,153 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.IdempotencyCache;
+import com.app.coworking.dto.StoredResponse;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.model.IdempotencyRecord;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyCache idempotencyCache;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyCache = new IdempotencyCache(Duration.ofHours(24), 100);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        idempotencyService = new IdempotencyService(reservationService,
+                idempotencyRecordRepository, idempotencyCache, transactionTemplate,
+                objectMapper, Duration.ofHours(24));
+    }
+
+    private static Reservation reservation(LocalDate start) {
+        Reservation reservation = new Reservation();
+        reservation.setStartDate(start);
+        reservation.setEndDate(start.plusDays(1));
+        return reservation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void createReservation_WhenKeyRepeated_ShouldReplayStoredResponse() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation created = reservation(start);
+        created.setId(7L);
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        runTransactionsInline();
+        when(reservationService.createReservation(eq(1L), eq(2L), any())).thenReturn(created);
+        when(idempotencyRecordRepository.insert(eq("key-1"), anyString(), eq(201), any(), any(),
+                any())).thenReturn(1);
+
+        // Act
+        StoredResponse first = idempotencyService.createReservation("key-1", 1L, 2L,
+                reservation(start));
+        StoredResponse second = idempotencyService.createReservation("key-1", 1L, 2L,
+                reservation(start));
+
+        // Assert
+        assertEquals(201, first.status());
+        assertSame(first, second);
+        verify(reservationService, times(1)).createReservation(eq(1L), eq(2L), any());
+        verify(idempotencyRecordRepository, times(1))
+                .insert(eq("key-1"), anyString(), eq(201), any(), any(), any());
+    }
+
+    @Test
+    void createReservation_WhenKeyReusedForDifferentRequest_ShouldThrow() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        runTransactionsInline();
+        when(reservationService.createReservation(eq(1L), eq(2L), any()))
+                .thenReturn(reservation(start));
+        when(idempotencyRecordRepository.insert(eq("key-1"), anyString(), eq(201), any(), any(),
+                any())).thenReturn(1);
+        idempotencyService.createReservation("key-1", 1L, 2L, reservation(start));
+
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () ->
+                idempotencyService.createReservation("key-1", 1L, 2L,
+                        reservation(start.plusDays(3))));
+        verify(reservationService, times(1)).createReservation(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void createReservation_WhenLiveKeyStoredConcurrently_ShouldRollBackAndReplayStoredResponse() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        AtomicReference<String> storedHash = new AtomicReference<>();
+        when(idempotencyRecordRepository.findById("key-1"))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> Optional.of(new IdempotencyRecord("key-1",
+                        storedHash.get(), 201, new byte[] {1}, Instant.now())));
+        runTransactionsInline();
+        when(reservationService.createReservation(eq(1L), eq(2L), any()))
+                .thenReturn(reservation(start));
+        // ON CONFLICT ... WHERE created_at < cutoff не сработал: ключ живой
+        when(idempotencyRecordRepository.insert(eq("key-1"), anyString(), eq(201), any(), any(),
+                any())).thenAnswer(invocation -> {
+                    storedHash.set(invocation.getArgument(1));
+                    return 0;
+                });
+
+        // Act
+        StoredResponse response = idempotencyService.createReservation("key-1", 1L, 2L,
+                reservation(start));
+
+        // Assert
+        assertEquals(201, response.status());
+        assertArrayEquals(new byte[] {1}, response.body());
+        ArgumentCaptor<Instant> createdAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(idempotencyRecordRepository).insert(eq("key-1"), anyString(), eq(201), any(),
+                createdAt.capture(), cutoff.capture());
+        assertEquals(createdAt.getValue().minus(Duration.ofHours(24)), cutoff.getValue());
+    }
+
+    @Test
+    void createReservation_WhenKeyBlank_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () ->
+                idempotencyService.createReservation(" ", 1L, 2L,
+                        reservation(LocalDate.now().plusDays(1))));
+        verifyNoInteractions(reservationService);
+    }
+}
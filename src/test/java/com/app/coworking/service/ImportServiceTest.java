@@ -0,0 +1,197 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.ImportEntity;
+import com.app.coworking.dto.ImportFormat;
+import com.app.coworking.dto.ImportReport;
+import com.app.coworking.dto.ImportRowError;
+import com.app.coworking.event.CatalogChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.ImportStagingJdbcRepository;
+import com.app.coworking.repository.ImportStagingJdbcRepository.StagedRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    @Mock
+    private ImportStagingJdbcRepository stagingRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private ValidatorFactory validatorFactory;
+
+    private ImportService importService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new ImportService(stagingRepository, validatorFactory.getValidator(),
+                passwordEncoder, new ObjectMapper(), transactionTemplate, eventPublisher,
+                2, 10, 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        validatorFactory.close();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StagedRow> capturedRows(ImportEntity entity) {
+        ArgumentCaptor<List<StagedRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stagingRepository, atLeastOnce()).copyIn(eq(entity), any(), captor.capture());
+        List<StagedRow> rows = new ArrayList<>();
+        captor.getAllValues().forEach(rows::addAll);
+        return rows;
+    }
+
+    @Test
+    void importRows_WhenUsersCsvHasBadRows_ShouldStageErrorsAndApplyInOneTransactionAfterUpload() {
+        // Arrange
+        String csv = "email,password,firstName,lastName,role\n"
+                + "anna@example.com,secret1,Anna,\"Smith, Jr\",user\n"
+                + "not-an-email,secret1,Bob,Brown,USER\n"
+                + "anna@example.com,secret2,Anna,Other,USER\n"
+                + "carl@example.com,secret3,Carl,Stone,ROOT\n"
+                + "dora@example.com,secret4,Dora,Lane,ADMIN\n";
+        List<ImportRowError> stored = List.of(new ImportRowError(2, "email: invalid"),
+                new ImportRowError(3, "Duplicate row in import file"),
+                new ImportRowError(4, "role: Unknown value 'ROOT'"),
+                new ImportRowError(5, "Email is already in use"));
+        when(stagingRepository.insertFromStaging(eq(ImportEntity.USERS), any())).thenReturn(1);
+        when(stagingRepository.countErrors(eq(ImportEntity.USERS), any())).thenReturn(4L);
+        when(stagingRepository.findErrors(eq(ImportEntity.USERS), any(), eq(10)))
+                .thenReturn(stored);
+
+        // Act
+        ImportReport report = importService.importRows(ImportEntity.USERS, ImportFormat.CSV,
+                body(csv));
+
+        // Assert: дубликат уходит в staging как обычная строка, его отсекает SQL
+        List<StagedRow> staged = capturedRows(ImportEntity.USERS);
+        assertEquals(List.of(1L, 3L, 5L), staged.stream()
+                .filter(row -> row.error() == null).map(StagedRow::row).toList());
+        StagedRow anna = staged.get(0);
+        assertEquals("Smith, Jr", anna.values().get(3));
+        assertEquals("USER", anna.values().get(4));
+        assertTrue(passwordEncoder.matches("secret1", anna.values().get(1)));
+        assertTrue(staged.get(1).error().startsWith("email:"));
+        assertNull(staged.get(1).values());
+        assertEquals("role: Unknown value 'ROOT'", staged.get(3).error());
+
+        assertEquals(5, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(4, report.rejected());
+        assertEquals(stored, report.errors());
+        assertFalse(report.errorsTruncated());
+
+        InOrder inOrder = inOrder(stagingRepository, transactionTemplate);
+        inOrder.verify(stagingRepository, atLeastOnce()).copyIn(eq(ImportEntity.USERS), any(),
+                anyList());
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(stagingRepository).rejectDuplicates(eq(ImportEntity.USERS), any());
+        inOrder.verify(stagingRepository).rejectConflicts(eq(ImportEntity.USERS), any());
+        inOrder.verify(stagingRepository).insertFromStaging(eq(ImportEntity.USERS), any());
+        inOrder.verify(stagingRepository).deleteStaging(eq(ImportEntity.USERS), any());
+    }
+
+    @Test
+    void importRows_WhenWorkspacesNdjsonHasMalformedLine_ShouldStageItAsErrorAndContinue() {
+        // Arrange
+        String ndjson = "{\"coworkingId\":1,\"name\":\"Desk 1\",\"type\":\"FIXED_DESK\","
+                + "\"capacity\":1}\n"
+                + "{broken\n"
+                + "\n"
+                + "{\"coworkingId\":1,\"name\":\"Hall\",\"type\":\"OPEN_SPACE\","
+                + "\"capacity\":\"x\"}\n";
+        when(stagingRepository.insertFromStaging(eq(ImportEntity.WORKSPACES), any()))
+                .thenReturn(1);
+
+        // Act
+        ImportReport report = importService.importRows(ImportEntity.WORKSPACES,
+                ImportFormat.NDJSON, body(ndjson));
+
+        // Assert
+        List<StagedRow> staged = capturedRows(ImportEntity.WORKSPACES);
+        assertEquals(List.of(1L, 2L, 3L), staged.stream().map(StagedRow::row).toList());
+        assertEquals(List.of("1", "Desk 1", "FIXED_DESK", "1"),
+                staged.get(0).values().subList(0, 4));
+        assertTrue(staged.get(1).error().startsWith("Malformed JSON"));
+        assertEquals("capacity: Not a number 'x'", staged.get(2).error());
+        assertEquals(3, report.rows());
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.everything());
+    }
+
+    @Test
+    void importRows_WhenMoreErrorsThanReported_ShouldReturnTotalAndTruncatedList() {
+        // Arrange
+        String csv = "email,password,firstName,lastName,role\n"
+                + "anna@example.com,secret1,Anna,Smith,USER\n";
+        List<ImportRowError> firstErrors = new ArrayList<>();
+        for (int row = 1; row <= 10; row++) {
+            firstErrors.add(new ImportRowError(row, "Email is already in use"));
+        }
+        when(stagingRepository.countErrors(eq(ImportEntity.USERS), any())).thenReturn(25L);
+        when(stagingRepository.findErrors(eq(ImportEntity.USERS), any(), eq(10)))
+                .thenReturn(firstErrors);
+
+        // Act
+        ImportReport report = importService.importRows(ImportEntity.USERS, ImportFormat.CSV,
+                body(csv));
+
+        // Assert
+        assertEquals(25, report.rejected());
+        assertEquals(firstErrors, report.errors());
+        assertTrue(report.errorsTruncated());
+    }
+
+    @Test
+    void importRows_WhenCsvQuoteIsNotClosed_ShouldThrowAndCleanUpStaging() {
+        // Arrange
+        String csv = "name,address\n\"Hub,Somewhere street 1\n";
+
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () -> importService.importRows(
+                ImportEntity.COWORKINGS, ImportFormat.CSV, body(csv)));
+        verify(transactionTemplate, never()).execute(any());
+        verify(stagingRepository, never()).insertFromStaging(any(), any());
+        verify(stagingRepository).deleteStaging(eq(ImportEntity.COWORKINGS), any());
+    }
+}
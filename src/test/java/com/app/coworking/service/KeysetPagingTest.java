@@ -0,0 +1,51 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.exception.InvalidArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingTest {
+
+    @Test
+    void page_WhenMoreRowsThanPageSize_ShouldTrimAndReturnCursorOfLastItem() {
+        // Act
+        KeysetPage<Long> page = KeysetPaging.page(List.of(1L, 2L, 3L), 2,
+                id -> KeysetPaging.encode(id));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), page.items());
+        Long lastId = KeysetPaging.decode(page.nextCursor(), parts -> Long.valueOf(parts[0]));
+        assertEquals(2L, lastId);
+    }
+
+    @Test
+    void page_WhenLastPage_ShouldNotReturnCursor() {
+        // Act
+        KeysetPage<Long> page = KeysetPaging.page(List.of(1L, 2L), 2,
+                id -> KeysetPaging.encode(id));
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void decode_WhenCursorMalformed_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () ->
+                KeysetPaging.decode("not-a-cursor", parts -> Long.valueOf(parts[0])));
+    }
+
+    @Test
+    void pageSize_WhenOutOfBounds_ShouldThrow() {
+        // Act & Assert
+        assertEquals(KeysetPaging.DEFAULT_PAGE_SIZE, KeysetPaging.pageSize(null));
+        assertThrows(InvalidArgumentException.class, () -> KeysetPaging.pageSize(0));
+        assertThrows(InvalidArgumentException.class,
+                () -> KeysetPaging.pageSize(KeysetPaging.MAX_PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.BookedDays;
+import com.app.coworking.dto.UtilizationRow;
+import com.app.coworking.dto.WorkspaceCapacity;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 10);
+
+    @Mock
+    private DailyOccupancyRepository dailyOccupancyRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private CoworkingRepository coworkingRepository;
+
+    @InjectMocks
+    private OccupancyReportService reportService;
+
+    @Test
+    void getUtilizationByType_WhenOpenSpaceAndRooms_ShouldUseCapacityLimits() {
+        // Arrange
+        when(workspaceRepository.findAllCapacities()).thenReturn(List.of(
+                new WorkspaceCapacity(1L, "Hall", WorkspaceType.OPEN_SPACE, 4),
+                new WorkspaceCapacity(2L, "Room A", WorkspaceType.MEETING_ROOM, 8),
+                new WorkspaceCapacity(3L, "Room B", WorkspaceType.MEETING_ROOM, 8)));
+        when(dailyOccupancyRepository.sumBookedDays(null, FROM, TO)).thenReturn(List.of(
+                new BookedDays(1L, 20L), new BookedDays(2L, 5L)));
+
+        // Act
+        List<UtilizationRow> rows = reportService.getUtilizationByType(null, FROM, TO);
+
+        // Assert
+        assertEquals(2, rows.size());
+        UtilizationRow openSpace = rows.get(0);
+        assertEquals("OPEN_SPACE", openSpace.name());
+        assertEquals(40, openSpace.capacityDays());
+        assertEquals(0.5, openSpace.utilization());
+        UtilizationRow rooms = rows.get(1);
+        assertEquals(20, rooms.capacityDays());
+        assertEquals(0.25, rooms.utilization());
+    }
+
+    @Test
+    void getUtilizationByWorkspace_WhenCoworkingMissing_ShouldThrow() {
+        // Arrange
+        when(coworkingRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> reportService.getUtilizationByWorkspace(1L, FROM, TO));
+        verifyNoInteractions(dailyOccupancyRepository);
+    }
+
+    @Test
+    void getUtilizationByType_WhenRangeInverted_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> reportService.getUtilizationByType(null, TO, FROM));
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.coworking.service;
+
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyJdbcRepository;
+import com.app.coworking.repository.DailyOccupancyJdbcRepository.DeltaKey;
+import com.app.coworking.repository.WorkspaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private DailyOccupancyJdbcRepository rollupRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private CoworkingRepository coworkingRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OccupancyRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new OccupancyRollupService(rollupRepository, workspaceRepository,
+                coworkingRepository, transactionTemplate, 2);
+    }
+
+    private static ReservationChange change(ReservationChange.Type type, LocalDate start,
+                                            LocalDate end, LocalDate previousStart,
+                                            LocalDate previousEnd) {
+        return new ReservationChange(type, 1L, 1L, 5L, 9L, start, end, ReservationStatus.CONFIRMED,
+                previousStart, previousEnd);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map.Entry<DeltaKey, Integer>> capturedDeltas() {
+        ArgumentCaptor<List<Map.Entry<DeltaKey, Integer>>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).applyDeltas(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void onReservationChanged_WhenCreated_ShouldIncrementEveryDayOfRange() {
+        // Act
+        rollupService.onReservationChanged(ReservationChangedEvent.of(
+                change(ReservationChange.Type.CREATED, DAY, DAY.plusDays(2), null, null)));
+
+        // Assert
+        List<Map.Entry<DeltaKey, Integer>> deltas = capturedDeltas();
+        assertEquals(3, deltas.size());
+        assertEquals(new DeltaKey(5L, DAY), deltas.get(0).getKey());
+        assertTrue(deltas.stream().allMatch(delta -> delta.getValue() == 1));
+        verify(rollupRepository).lockCoworkingShared(9L);
+    }
+
+    @Test
+    void onReservationChanged_WhenUpdatedRangeShifts_ShouldApplyOnlyChangedDays() {
+        // Act: [10..12] -> [11..13]
+        rollupService.onReservationChanged(ReservationChangedEvent.of(
+                change(ReservationChange.Type.UPDATED, DAY.plusDays(1), DAY.plusDays(3),
+                        DAY, DAY.plusDays(2))));
+
+        // Assert
+        List<Map.Entry<DeltaKey, Integer>> deltas = capturedDeltas();
+        assertEquals(2, deltas.size());
+        assertEquals(Map.entry(new DeltaKey(5L, DAY), -1), deltas.get(0));
+        assertEquals(Map.entry(new DeltaKey(5L, DAY.plusDays(3)), 1), deltas.get(1));
+    }
+
+    @Test
+    void onReservationChanged_WhenChangesCancelOut_ShouldNotWrite() {
+        // Act
+        rollupService.onReservationChanged(new ReservationChangedEvent(List.of(
+                change(ReservationChange.Type.CREATED, DAY, DAY, null, null),
+                change(ReservationChange.Type.DELETED, DAY, DAY, null, null))));
+
+        // Assert
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void onReservationChanged_WhenCoworkingUnknown_ShouldResolveItForLocking() {
+        // Arrange
+        when(workspaceRepository.findCoworkingIds(any())).thenReturn(List.of(3L));
+
+        // Act
+        rollupService.onReservationChanged(ReservationChangedEvent.of(new ReservationChange(
+                ReservationChange.Type.DELETED, 1L, 1L, 5L, null, DAY, DAY,
+                ReservationStatus.CONFIRMED, null, null)));
+
+        // Assert
+        verify(rollupRepository).lockCoworkingShared(3L);
+        assertEquals(-1, capturedDeltas().get(0).getValue());
+    }
+}
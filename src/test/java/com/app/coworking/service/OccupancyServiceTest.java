@@ -0,0 +1,172 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.OccupancyCache;
+import com.app.coworking.dto.OccupancyHeatmap;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.dto.WorkspaceCapacity;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private CoworkingRepository coworkingRepository;
+
+    @Mock
+    private OccupancyCache occupancyCache;
+
+    @InjectMocks
+    private OccupancyService occupancyService;
+
+    @Test
+    void getOccupancy_WhenWindowSpansTwoMonths_ShouldComputeDailyRatios() {
+        // Arrange
+        LocalDate from = LocalDate.of(2030, 1, 30);
+        LocalDate to = LocalDate.of(2030, 2, 2);
+        when(coworkingRepository.existsById(1L)).thenReturn(true);
+        when(occupancyCache.get(eq(1L), any())).thenReturn(null);
+        when(workspaceRepository.findCapacitiesByCoworkingId(1L)).thenReturn(List.of(
+                new WorkspaceCapacity(10L, "Open", WorkspaceType.OPEN_SPACE, 4),
+                new WorkspaceCapacity(11L, "Room", WorkspaceType.MEETING_ROOM, 8)));
+        when(reservationRepository.findReservedRangesByCoworkingId(eq(1L), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDate start = invocation.getArgument(1);
+                    return start.getMonthValue() == 1
+                            ? List.of(new ReservedRange(10L, LocalDate.of(2030, 1, 31),
+                                    LocalDate.of(2030, 2, 1)),
+                              new ReservedRange(10L, LocalDate.of(2030, 1, 31),
+                                    LocalDate.of(2030, 1, 31)))
+                            : List.of(new ReservedRange(10L, LocalDate.of(2030, 1, 31),
+                                    LocalDate.of(2030, 2, 1)),
+                              new ReservedRange(11L, LocalDate.of(2030, 2, 2),
+                                    LocalDate.of(2030, 2, 5)));
+                });
+
+        // Act
+        OccupancyHeatmap heatmap = occupancyService.getOccupancy(1L, from, to);
+
+        // Assert
+        assertEquals(2, heatmap.workspaces().size());
+        assertArrayEquals(new double[] {0, 0.5, 0.25, 0},
+                heatmap.workspaces().get(0).occupancy());
+        assertArrayEquals(new double[] {0, 0, 0, 1},
+                heatmap.workspaces().get(1).occupancy());
+        verify(occupancyCache, times(1)).put(eq(1L), eq(YearMonth.of(2030, 1)), any(), anyLong());
+        verify(occupancyCache, times(1)).put(eq(1L), eq(YearMonth.of(2030, 2)), any(), anyLong());
+    }
+
+    @Test
+    void getOccupancy_WhenMonthCached_ShouldNotQueryReservations() {
+        // Arrange
+        LocalDate from = LocalDate.of(2030, 3, 1);
+        LocalDate to = LocalDate.of(2030, 3, 2);
+        int[] booked = new int[31];
+        booked[1] = 1;
+        when(coworkingRepository.existsById(1L)).thenReturn(true);
+        when(workspaceRepository.findCapacitiesByCoworkingId(1L)).thenReturn(List.of(
+                new WorkspaceCapacity(10L, "Desk", WorkspaceType.FIXED_DESK, 1)));
+        when(occupancyCache.get(1L, YearMonth.of(2030, 3))).thenReturn(Map.of(10L, booked));
+
+        // Act
+        OccupancyHeatmap heatmap = occupancyService.getOccupancy(1L, from, to);
+
+        // Assert
+        assertArrayEquals(new double[] {0, 1}, heatmap.workspaces().get(0).occupancy());
+        verify(reservationRepository, never()).findReservedRangesByCoworkingId(any(), any(), any());
+    }
+
+    @Test
+    void getOccupancy_WhenCoworkingNotFound_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        LocalDate day = LocalDate.of(2030, 3, 1);
+        when(coworkingRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> occupancyService.getOccupancy(999L, day, day));
+    }
+
+    @Test
+    void getOccupancy_WhenWindowTooLong_ShouldThrowInvalidArgumentException() {
+        // Arrange
+        LocalDate day = LocalDate.of(2030, 3, 1);
+
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> occupancyService.getOccupancy(1L, day, day.plusYears(2)));
+        verify(coworkingRepository, never()).existsById(any());
+    }
+
+    @Test
+    void onReservationChanged_WhenUpdated_ShouldEvictOldAndNewMonths() {
+        // Arrange
+        ReservationChange change = new ReservationChange(ReservationChange.Type.UPDATED, 1L, 2L,
+                3L, 4L, LocalDate.of(2030, 5, 1), LocalDate.of(2030, 5, 2),
+                ReservationStatus.CONFIRMED, LocalDate.of(2030, 3, 30), LocalDate.of(2030, 4, 2));
+
+        // Act
+        occupancyService.onReservationChanged(ReservationChangedEvent.of(change));
+
+        // Assert
+        verify(occupancyCache).evict(4L, YearMonth.of(2030, 5), YearMonth.of(2030, 5));
+        verify(occupancyCache).evict(4L, YearMonth.of(2030, 3), YearMonth.of(2030, 4));
+    }
+
+    @Test
+    void getOccupancy_WhenEvictedWhileComputing_ShouldNotCacheStaleMonth() {
+        // Arrange
+        OccupancyCache cache = new OccupancyCache();
+        OccupancyService service = new OccupancyService(reservationRepository,
+                workspaceRepository, coworkingRepository, cache);
+        YearMonth month = YearMonth.of(2030, 3);
+        when(coworkingRepository.existsById(1L)).thenReturn(true);
+        when(workspaceRepository.findCapacitiesByCoworkingId(1L)).thenReturn(List.of(
+                new WorkspaceCapacity(10L, "Room", WorkspaceType.MEETING_ROOM, 1)));
+        // бронь коммитится и сбрасывает месяц, пока расчет еще идет
+        when(reservationRepository.findReservedRangesByCoworkingId(eq(1L), any(), any()))
+                .thenAnswer(invocation -> {
+                    cache.evict(1L, month, month);
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        // Act
+        service.getOccupancy(1L, month.atDay(1), month.atDay(3));
+        boolean cachedAfterRace = cache.get(1L, month) != null;
+        service.getOccupancy(1L, month.atDay(1), month.atDay(3));
+
+        // Assert
+        assertFalse(cachedAfterRace);
+        assertNotNull(cache.get(1L, month));
+        verify(reservationRepository, times(2))
+                .findReservedRangesByCoworkingId(eq(1L), any(), any());
+    }
+}
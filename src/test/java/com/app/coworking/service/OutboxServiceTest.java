@@ -0,0 +1,115 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.OutboxMessage;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.outbox.InMemoryOutboxSink;
+import com.app.coworking.outbox.OutboxSink;
+import com.app.coworking.repository.OutboxJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxJdbcRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxService outboxService(OutboxSink sink, int batchSize) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new OutboxService(outboxRepository, sink, transactionTemplate, objectMapper,
+                batchSize, Duration.ofDays(7));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private static OutboxMessage message(long id) {
+        return new OutboxMessage(id, 5L, "reservation.created", "{}", Instant.now());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onReservationChanged_ShouldWriteOneRowPerChange() {
+        // Arrange
+        OutboxService outboxService = outboxService(new InMemoryOutboxSink(), 10);
+        LocalDate day = LocalDate.of(2025, 5, 1);
+        ReservationChange created = new ReservationChange(ReservationChange.Type.CREATED,
+                1L, 2L, 5L, 9L, day, day, ReservationStatus.HOLD, null, null);
+        ReservationChange deleted = new ReservationChange(ReservationChange.Type.DELETED,
+                3L, 2L, 6L, 9L, day, day, ReservationStatus.CONFIRMED, null, null);
+
+        // Act
+        outboxService.onReservationChanged(
+                new ReservationChangedEvent(List.of(created, deleted)));
+
+        // Assert
+        ArgumentCaptor<List<OutboxMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).insertBatch(captor.capture());
+        List<OutboxMessage> messages = captor.getValue();
+        assertEquals(2, messages.size());
+        assertEquals("reservation.created", messages.get(0).eventType());
+        assertEquals(6L, messages.get(1).workspaceId());
+        assertTrue(messages.get(0).payload().contains("\"reservationId\":1"));
+        assertTrue(messages.get(0).payload().contains("\"status\":\"HOLD\""));
+    }
+
+    @Test
+    void relay_WhenBatchesAvailable_ShouldPublishInOrderAndMarkThem() {
+        // Arrange
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        OutboxService outboxService = outboxService(sink, 2);
+        runTransactionsInline();
+        when(outboxRepository.claimBatch(2))
+                .thenReturn(List.of(message(1), message(2)))
+                .thenReturn(List.of(message(3)));
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L),
+                sink.getPublished().stream().map(OutboxMessage::id).toList());
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository).markPublished(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void relay_WhenSinkFails_ShouldNotMarkPublished() {
+        // Arrange
+        OutboxService outboxService = outboxService(messages -> {
+            throw new IllegalStateException("sink down");
+        }, 10);
+        runTransactionsInline();
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of(message(1)));
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        verify(outboxRepository, never()).markPublished(any(), any());
+    }
+}
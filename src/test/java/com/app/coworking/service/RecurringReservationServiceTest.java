@@ -0,0 +1,156 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.RecurringReservationRequest;
+import com.app.coworking.dto.RecurringReservationResult;
+import com.app.coworking.dto.ReservedRange;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.model.RecurringReservation;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.RecurrenceFrequency;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.RecurringReservationRepository;
+import com.app.coworking.repository.ReservationJdbcRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationJdbcRepository reservationJdbcRepository;
+
+    @Mock
+    private RecurringReservationRepository recurringReservationRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReservationCache reservationCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RecurringReservationService recurringReservationService;
+
+    @Test
+    void expandOccurrences_WhenWeekly_ShouldShiftBySevenDays() {
+        // Arrange
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        RecurringReservationRequest request = new RecurringReservationRequest(
+                start, start, RecurrenceFrequency.WEEKLY, 1, start.plusWeeks(3), null);
+
+        // Act
+        List<ReservedRange> occurrences =
+                RecurringReservationService.expandOccurrences(1L, request);
+
+        // Assert
+        assertEquals(4, occurrences.size());
+        assertEquals(start.plusWeeks(3), occurrences.get(3).startDate());
+    }
+
+    @Test
+    void expandOccurrences_WhenOccurrencesOverlap_ShouldThrowInvalidArgumentException() {
+        // Arrange
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        RecurringReservationRequest request = new RecurringReservationRequest(
+                start, start.plusDays(1), RecurrenceFrequency.DAILY, 1, start.plusDays(5), null);
+
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> RecurringReservationService.expandOccurrences(1L, request));
+    }
+
+    @Test
+    void findConflicts_ShouldCountOnlyOverlappingReservations() {
+        // Arrange
+        LocalDate day = LocalDate.of(2030, 1, 1);
+        List<ReservedRange> occurrences = List.of(
+                new ReservedRange(1L, day, day),
+                new ReservedRange(1L, day.plusDays(7), day.plusDays(7)),
+                new ReservedRange(1L, day.plusDays(14), day.plusDays(14)));
+        List<ReservedRange> existing = List.of(
+                new ReservedRange(1L, day.minusDays(3), day.minusDays(1)),
+                new ReservedRange(1L, day.plusDays(5), day.plusDays(8)),
+                new ReservedRange(1L, day.plusDays(6), day.plusDays(7)));
+
+        // Act
+        boolean[] singleSeat = RecurringReservationService.findConflicts(occurrences, existing, 1);
+        boolean[] twoSeats = RecurringReservationService.findConflicts(occurrences, existing, 2);
+        boolean[] threeSeats = RecurringReservationService.findConflicts(occurrences, existing, 3);
+
+        // Assert
+        assertArrayEquals(new boolean[] {false, true, false}, singleSeat);
+        assertArrayEquals(new boolean[] {false, true, false}, twoSeats);
+        assertArrayEquals(new boolean[] {false, false, false}, threeSeats);
+    }
+
+    @Test
+    void createRecurringReservation_WhenSomeOccurrencesConflict_ShouldPersistOthersInOneBatch() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        Workspace workspace = new Workspace();
+        workspace.setId(1L);
+        workspace.setType(WorkspaceType.MEETING_ROOM);
+        workspace.setCapacity(1);
+        User user = new User();
+        user.setId(2L);
+        RecurringReservationRequest request = new RecurringReservationRequest(
+                start, start, RecurrenceFrequency.DAILY, 1, start.plusDays(2), "standup");
+        RecurringReservation savedRecurrence = new RecurringReservation();
+        savedRecurrence.setId(10L);
+        savedRecurrence.setComment("standup");
+
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+        when(reservationRepository.findReservedRanges(List.of(1L), start, start.plusDays(2)))
+                .thenReturn(List.of(new ReservedRange(1L, start.plusDays(1), start.plusDays(1))));
+        when(recurringReservationRepository.save(any())).thenReturn(savedRecurrence);
+        doAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            long id = 100;
+            for (Reservation reservation : reservations) {
+                reservation.setId(id++);
+            }
+            return null;
+        }).when(reservationJdbcRepository).insertBatch(anyList());
+
+        // Act
+        RecurringReservationResult result =
+                recurringReservationService.createRecurringReservation(1L, 2L, request);
+
+        // Assert
+        assertEquals(10L, result.recurrenceId());
+        assertEquals(3, result.requested());
+        assertEquals(2, result.created());
+        assertEquals(100L, result.occurrences().get(0).reservationId());
+        assertNotNull(result.occurrences().get(1).error());
+        assertEquals(101L, result.occurrences().get(2).reservationId());
+        verify(reservationJdbcRepository, times(1)).insertBatch(anyList());
+    }
+}
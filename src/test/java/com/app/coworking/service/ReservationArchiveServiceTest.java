@@ -0,0 +1,107 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.repository.ReservationArchiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationArchiveServiceTest {
+
+    @Mock
+    private ReservationArchiveRepository archiveRepository;
+
+    @Mock
+    private ReservationCache reservationCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ReservationArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = new ReservationArchiveService(archiveRepository, reservationCache,
+                transactionTemplate, 90, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void archiveEndedReservations_WhenHistoryExists_ShouldMoveMonthByMonthUpToCutoff() {
+        // Arrange
+        LocalDate cutoff = LocalDate.now().minusDays(90);
+        LocalDate oldest = cutoff.minusMonths(2);
+        when(archiveRepository.findOldestActiveEndDate()).thenReturn(oldest);
+        runTransactionsInline();
+        when(archiveRepository.moveEndedBetween(any(), any())).thenReturn(2);
+
+        // Act
+        int moved = archiveService.archiveEndedReservations();
+
+        // Assert
+        // месяц отсечки не переносится, если отсечка приходится на его первое число
+        int months = cutoff.getDayOfMonth() == 1 ? 2 : 3;
+        assertEquals(2 * months, moved);
+        verify(archiveRepository).createPartitionIfNotExists(YearMonth.from(oldest));
+        verify(archiveRepository, times(months)).moveEndedBetween(any(), any());
+        verify(archiveRepository, never()).moveEndedBetween(any(),
+                argThat(until -> until.isAfter(cutoff)));
+        verify(reservationCache).clear();
+    }
+
+    @Test
+    void archiveEndedReservations_WhenNothingEnded_ShouldNotTouchCache() {
+        // Arrange
+        when(archiveRepository.findOldestActiveEndDate()).thenReturn(LocalDate.now());
+
+        // Act
+        int moved = archiveService.archiveEndedReservations();
+
+        // Assert
+        assertEquals(0, moved);
+        verify(archiveRepository, never()).moveEndedBetween(any(), any());
+        verifyNoInteractions(reservationCache);
+    }
+
+    @Test
+    void archiveEndedReservations_WhenRetentionSet_ShouldDetachOldPartitions() {
+        // Arrange
+        archiveService = new ReservationArchiveService(archiveRepository, reservationCache,
+                transactionTemplate, 90, 12);
+        when(archiveRepository.findOldestActiveEndDate()).thenReturn(null);
+        when(archiveRepository.findPartitionsBefore(YearMonth.now().minusMonths(12)))
+                .thenReturn(List.of("reservations_archive_p202001"));
+
+        // Act
+        archiveService.archiveEndedReservations();
+
+        // Assert
+        verify(archiveRepository).detachPartition("reservations_archive_p202001");
+    }
+
+    @Test
+    void getArchivedByUser_WhenRangeInverted_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () -> archiveService.getArchivedByUser(
+                1L, LocalDate.now(), LocalDate.now().minusDays(1)));
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.coworking.service;
+
+import com.app.coworking.dto.ExportFormat;
+import com.app.coworking.dto.ReservationExportRow;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExportServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ReservationExportService(reservationRepository, objectMapper);
+    }
+
+    private static ReservationExportRow row(Long id, String comment) {
+        return new ReservationExportRow(id, 2L, 3L, 4L, "user@test.com",
+                LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 12),
+                ReservationStatus.CONFIRMED, comment);
+    }
+
+    @Test
+    void export_WhenCsv_ShouldWriteHeaderAndEscapeFields() throws Exception {
+        // Arrange
+        when(reservationRepository.streamForExport(null, null))
+                .thenReturn(Stream.of(row(1L, "plain"), row(2L, "a, \"quoted\"")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(null, null, ExportFormat.CSV, false, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(ReservationExportService.CSV_HEADER, lines[0]);
+        assertEquals("1,2,3,4,user@test.com,2025-01-10,2025-01-12,CONFIRMED,plain", lines[1]);
+        assertTrue(lines[2].endsWith(",\"a, \"\"quoted\"\"\""));
+    }
+
+    @Test
+    void export_WhenNdjsonGzipped_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        when(reservationRepository.streamForExport(null, null))
+                .thenReturn(Stream.of(row(1L, null), row(2L, "x")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(null, null, ExportFormat.NDJSON, true, out);
+
+        // Assert
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))
+                .readAllBytes();
+        String[] lines = new String(unzipped, StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"startDate\":\"2025-01-10\""));
+    }
+
+    @Test
+    void validateRange_WhenInverted_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class, () -> exportService.validateRange(
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+    }
+}
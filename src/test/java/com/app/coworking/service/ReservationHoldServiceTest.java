@@ -0,0 +1,109 @@
+package com.app.coworking.service;
+
+import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.enums.ReservationStatus;
+import com.app.coworking.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationHoldServiceTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationCache reservationCache;
+
+    @Mock
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReservationHoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new ReservationHoldService(reservationService, reservationRepository,
+                reservationCache, holdExpiryScheduler, eventPublisher, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void confirmHold_WhenStillHeld_ShouldConfirmWithGuardedUpdate() {
+        // Arrange
+        Reservation confirmed = new Reservation();
+        confirmed.setId(1L);
+        confirmed.setStatus(ReservationStatus.CONFIRMED);
+        when(reservationRepository.confirmHold(eq(1L), eq(ReservationStatus.HOLD),
+                eq(ReservationStatus.CONFIRMED), any(Instant.class))).thenReturn(1);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(confirmed));
+
+        // Act
+        Reservation result = holdService.confirmHold(1L);
+
+        // Assert
+        assertSame(confirmed, result);
+        verify(reservationRepository, never()).save(any());
+        verify(reservationCache).putAfterCommit(confirmed);
+        verify(holdExpiryScheduler).cancel(1L);
+        ArgumentCaptor<ReservationChangedEvent> event =
+                ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        ReservationChange change = event.getValue().changes().get(0);
+        assertEquals(ReservationChange.Type.UPDATED, change.type());
+        assertEquals(ReservationStatus.CONFIRMED, change.status());
+    }
+
+    @Test
+    void confirmHold_WhenExpiryDeletedRowFirst_ShouldThrowNotFound() {
+        // Arrange
+        when(reservationRepository.confirmHold(eq(1L), any(), any(), any())).thenReturn(0);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> holdService.confirmHold(1L));
+        verifyNoInteractions(reservationCache, holdExpiryScheduler);
+    }
+
+    @Test
+    void confirmHold_WhenHoldExpiredButNotYetDeleted_ShouldRejectWithoutConfirming() {
+        // Arrange
+        Reservation hold = new Reservation();
+        hold.setId(1L);
+        hold.setStatus(ReservationStatus.HOLD);
+        hold.setHoldExpiresAt(Instant.now().minusSeconds(1));
+        when(reservationRepository.confirmHold(eq(1L), any(), any(), any())).thenReturn(0);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(hold));
+
+        // Act
+        InvalidArgumentException ex = assertThrows(InvalidArgumentException.class,
+                () -> holdService.confirmHold(1L));
+
+        // Assert
+        assertTrue(ex.getMessage().contains("expired"));
+        assertEquals(ReservationStatus.HOLD, hold.getStatus());
+        verifyNoInteractions(reservationCache, holdExpiryScheduler);
+    }
+}
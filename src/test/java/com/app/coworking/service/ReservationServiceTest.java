@@ -1,21 +1,34 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.ReservationCache;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.ReservationFilter;
+import com.app.coworking.dto.UserReservationView;
+import com.app.coworking.event.ReservationChange;
+import com.app.coworking.event.ReservationChangedEvent;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Coworking;
 import com.app.coworking.model.Reservation;
 import com.app.coworking.model.User;
 import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.ReservationStatus;
 import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.ReservationJdbcRepository;
 import com.app.coworking.repository.ReservationRepository;
 import com.app.coworking.repository.UserRepository;
 import com.app.coworking.repository.WorkspaceRepository;
+import org.hibernate.LazyInitializationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -32,6 +45,9 @@ class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationJdbcRepository reservationJdbcRepository;
+
     @Mock
     private WorkspaceRepository workspaceRepository;
 
@@ -41,9 +57,55 @@ class ReservationServiceTest {
     @Mock
     private ReservationCache reservationCache;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReservationService reservationService;
 
+    private static Reservation reservation(Long id, LocalDate start) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setStartDate(start);
+        reservation.setEndDate(start);
+        return reservation;
+    }
+
+    @Test
+    void getReservationsPage_WhenCursorGiven_ShouldSeekAfterItAndLoadOnlyPageIds() {
+        // Arrange
+        LocalDate start = LocalDate.of(2030, 1, 10);
+        ReservationFilter filter = new ReservationFilter(3L, null, null, null, null);
+        List<Reservation> loaded = List.of(reservation(7L, start), reservation(8L, start),
+                reservation(9L, start.plusDays(1)));
+        when(reservationJdbcRepository.findPageIds(filter, start, 6L, 3))
+                .thenReturn(List.of(7L, 8L, 9L));
+        when(reservationRepository.findPageByIds(List.of(7L, 8L, 9L))).thenReturn(loaded);
+
+        // Act
+        KeysetPage<Reservation> page = reservationService.getReservationsPage(filter,
+                KeysetPaging.encode(start, 6L), 2);
+
+        // Assert
+        assertEquals(loaded.subList(0, 2), page.items());
+        assertEquals(KeysetPaging.encode(start, 8L), page.nextCursor());
+    }
+
+    @Test
+    void getReservationsPage_WhenNoRowsAfterCursor_ShouldNotLoadEntities() {
+        // Arrange
+        ReservationFilter filter = new ReservationFilter(null, null, null, null, null);
+        when(reservationJdbcRepository.findPageIds(filter, null, null, 51)).thenReturn(List.of());
+
+        // Act
+        KeysetPage<Reservation> page = reservationService.getReservationsPage(filter, null, null);
+
+        // Assert
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        verify(reservationRepository, never()).findPageByIds(any());
+    }
+
     @Test
     void getReservationById_WhenExistsInCache_ShouldReturnCachedReservation() {
         // Arrange
@@ -111,36 +173,51 @@ class ReservationServiceTest {
         verify(reservationRepository, times(1)).findAll();
     }
 
+    private static UserReservationView view(Long reservationId) {
+        return new UserReservationView(reservationId, LocalDate.now(), LocalDate.now().plusDays(1),
+                null, null, 1L, "Room", WorkspaceType.MEETING_ROOM, 1L, "Hub");
+    }
+
     @Test
     void getReservationsByUserEmail_WhenUserExists_ShouldReturnReservations() {
         // Arrange
         String email = "user@test.com";
-        Reservation reservation1 = new Reservation();
-        Reservation reservation2 = new Reservation();
-        List<Reservation> expectedList = Arrays.asList(reservation1, reservation2);
-
-        when(userRepository.existsByEmail(email)).thenReturn(true);
-        when(reservationRepository.findByUserEmail(email)).thenReturn(expectedList);
+        when(reservationRepository.findUserReservationsByEmail(email))
+                .thenReturn(Arrays.asList(view(1L), view(2L)));
 
         // Act
-        List<Reservation> result = reservationService.getReservationsByUserEmail(email);
+        List<UserReservationView> result = reservationService.getReservationsByUserEmail(email);
 
         // Assert
         assertEquals(2, result.size());
-        verify(userRepository, times(1)).existsByEmail(email);
-        verify(reservationRepository, times(1)).findByUserEmail(email);
+        verify(reservationRepository, times(1)).findUserReservationsByEmail(email);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getReservationsByUserEmail_WhenUserHasNoReservations_ShouldReturnEmptyList() {
+        // Arrange
+        String email = "user@test.com";
+        when(reservationRepository.findUserReservationsByEmail(email))
+                .thenReturn(List.of(view(null)));
+
+        // Act
+        List<UserReservationView> result = reservationService.getReservationsByUserEmail(email);
+
+        // Assert
+        assertTrue(result.isEmpty());
     }
 
     @Test
     void getReservationsByUserEmail_WhenUserNotExists_ShouldThrowResourceNotFoundException() {
         // Arrange
         String email = "nonexistent@test.com";
-        when(userRepository.existsByEmail(email)).thenReturn(false);
+        when(reservationRepository.findUserReservationsByEmail(email)).thenReturn(List.of());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class,
                 () -> reservationService.getReservationsByUserEmail(email));
-        verify(reservationRepository, never()).findByUserEmail(any());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -163,8 +240,8 @@ class ReservationServiceTest {
 
         when(workspaceRepository.findById(workspaceId)).thenReturn(Optional.of(workspace));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(reservationRepository.findOverlappingReservations(eq(workspaceId), any(), any()))
-                .thenReturn(Arrays.asList()); // Нет пересекающихся бронирований
+        when(reservationRepository.countOverlappingReservations(eq(workspaceId), any(), any(), isNull()))
+                .thenReturn(0L); // Нет пересекающихся бронирований
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
         // Act
@@ -175,7 +252,48 @@ class ReservationServiceTest {
         assertEquals(workspace, result.getWorkspace());
         assertEquals(user, result.getUser());
         verify(reservationRepository, times(1)).save(reservation);
-        verify(reservationCache, times(1)).put(any(), eq(reservation));
+        verify(reservationCache, times(1)).putAfterCommit(reservation);
+        verify(eventPublisher, times(1)).publishEvent(any(ReservationChangedEvent.class));
+    }
+
+    @Test
+    void createReservation_WhenTransactionRollsBack_ShouldNotLeaveReservationInCache() {
+        // Arrange
+        ReservationCache cache = new ReservationCache();
+        ReservationService service = new ReservationService(reservationRepository,
+                reservationJdbcRepository, workspaceRepository, userRepository, cache,
+                eventPublisher);
+        Workspace workspace = new Workspace();
+        workspace.setId(1L);
+        workspace.setType(WorkspaceType.MEETING_ROOM);
+        Reservation reservation = new Reservation();
+        reservation.setStartDate(LocalDate.now().plusDays(1));
+        reservation.setEndDate(LocalDate.now().plusDays(2));
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(new User()));
+        when(reservationRepository.countOverlappingReservations(eq(1L), any(), any(), isNull()))
+                .thenReturn(0L);
+        when(reservationRepository.save(reservation)).thenAnswer(invocation -> {
+            reservation.setId(5L);
+            return reservation;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            service.createReservation(1L, 2L, reservation);
+            List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(
+                    TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            assertNull(cache.get(5L));
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            assertSame(reservation, cache.get(5L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -228,11 +346,10 @@ class ReservationServiceTest {
         reservation.setStartDate(LocalDate.now().plusDays(1));
         reservation.setEndDate(LocalDate.now().plusDays(3));
 
-        Reservation existingReservation = new Reservation();
         when(workspaceRepository.findById(workspaceId)).thenReturn(Optional.of(workspace));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(reservationRepository.findOverlappingReservations(eq(workspaceId), any(), any()))
-                .thenReturn(Arrays.asList(existingReservation)); // Уже есть бронирование
+        when(reservationRepository.countOverlappingReservations(eq(workspaceId), any(), any(), isNull()))
+                .thenReturn(1L); // Уже есть бронирование
 
         // Act & Assert
         assertThrows(AlreadyExistsException.class,
@@ -258,12 +375,10 @@ class ReservationServiceTest {
         reservation.setStartDate(LocalDate.now().plusDays(1));
         reservation.setEndDate(LocalDate.now().plusDays(3));
 
-        Reservation existingReservation1 = new Reservation();
-        Reservation existingReservation2 = new Reservation();
         when(workspaceRepository.findById(workspaceId)).thenReturn(Optional.of(workspace));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(reservationRepository.findOverlappingReservations(eq(workspaceId), any(), any()))
-                .thenReturn(Arrays.asList(existingReservation1, existingReservation2)); // Уже 2 бронирования
+        when(reservationRepository.countOverlappingReservations(eq(workspaceId), any(), any(), isNull()))
+                .thenReturn(2L); // Уже 2 бронирования
 
         // Act & Assert
         assertThrows(AlreadyExistsException.class,
@@ -319,8 +434,9 @@ class ReservationServiceTest {
         updated.setComment("Updated comment");
 
         when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(existing));
-        when(reservationRepository.findOverlappingReservations(eq(workspace.getId()), any(), any()))
-                .thenReturn(Arrays.asList()); // Нет пересекающихся бронирований
+        when(reservationRepository.countOverlappingReservations(
+                eq(workspace.getId()), any(), any(), eq(reservationId)))
+                .thenReturn(0L); // Нет пересекающихся бронирований
         when(reservationRepository.save(any(Reservation.class))).thenReturn(existing);
 
         // Act
@@ -332,7 +448,7 @@ class ReservationServiceTest {
         assertEquals(updated.getEndDate(), existing.getEndDate());
         assertEquals(updated.getComment(), existing.getComment());
         verify(reservationRepository, times(1)).save(existing);
-        verify(reservationCache, times(1)).put(reservationId, existing);
+        verify(reservationCache, times(1)).putAfterCommit(existing);
     }
 
     @Test
@@ -366,12 +482,10 @@ class ReservationServiceTest {
         updated.setStartDate(LocalDate.now().plusDays(5));
         updated.setEndDate(LocalDate.now().plusDays(7));
 
-        Reservation conflictingReservation = new Reservation();
-        conflictingReservation.setId(2L);
-
         when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(existing));
-        when(reservationRepository.findOverlappingReservations(eq(workspace.getId()), any(), any()))
-                .thenReturn(Arrays.asList(conflictingReservation)); // Есть конфликтующее бронирование
+        when(reservationRepository.countOverlappingReservations(
+                eq(workspace.getId()), any(), any(), eq(reservationId)))
+                .thenReturn(1L); // Есть конфликтующее бронирование
 
         // Act & Assert
         assertThrows(AlreadyExistsException.class,
@@ -396,10 +510,11 @@ class ReservationServiceTest {
         updated.setStartDate(LocalDate.now().plusDays(5));
         updated.setEndDate(LocalDate.now().plusDays(7));
 
-        // Только текущее бронирование (должно быть исключено из проверки)
+        // Текущее бронирование исключается из подсчета на стороне БД
         when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(existing));
-        when(reservationRepository.findOverlappingReservations(eq(workspace.getId()), any(), any()))
-                .thenReturn(Arrays.asList(existing)); // Возвращает само себя
+        when(reservationRepository.countOverlappingReservations(
+                eq(workspace.getId()), any(), any(), eq(reservationId)))
+                .thenReturn(0L);
 
         when(reservationRepository.save(any(Reservation.class))).thenReturn(existing);
 
@@ -409,6 +524,8 @@ class ReservationServiceTest {
         // Assert
         assertNotNull(result);
         // Должно пройти успешно, т.к. текущее бронирование исключается из проверки
+        verify(reservationRepository, times(1))
+                .countOverlappingReservations(eq(workspace.getId()), any(), any(), eq(reservationId));
         verify(reservationRepository, times(1)).save(existing);
     }
 
@@ -419,7 +536,7 @@ class ReservationServiceTest {
         Reservation existing = new Reservation();
         existing.setId(reservationId);
 
-        when(reservationCache.get(reservationId)).thenReturn(existing);
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(existing));
 
         // Act
         reservationService.deleteReservation(reservationId);
@@ -427,13 +544,13 @@ class ReservationServiceTest {
         // Assert
         verify(reservationRepository, times(1)).delete(existing);
         verify(reservationCache, times(1)).remove(reservationId);
+        verify(eventPublisher, times(1)).publishEvent(any(ReservationChangedEvent.class));
     }
 
     @Test
     void deleteReservation_WhenNotExists_ShouldThrowResourceNotFoundException() {
         // Arrange
         Long reservationId = 999L;
-        when(reservationCache.get(reservationId)).thenReturn(null);
         when(reservationRepository.findById(reservationId)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -442,6 +559,74 @@ class ReservationServiceTest {
         verify(reservationRepository, never()).delete(any());
     }
 
+    @Test
+    void deleteReservation_WhenCachedByRead_ShouldDeleteManagedRowInsteadOfCachedCopy() {
+        // Arrange
+        Long reservationId = 1L;
+        Workspace detachedWorkspace = mock(Workspace.class);
+        lenient().when(detachedWorkspace.getCoworking())
+                .thenThrow(new LazyInitializationException("no session"));
+        Reservation cached = new Reservation();
+        cached.setId(reservationId);
+        cached.setWorkspace(detachedWorkspace);
+        lenient().when(reservationCache.get(reservationId)).thenReturn(cached);
+
+        Coworking coworking = new Coworking();
+        coworking.setId(3L);
+        Workspace workspace = new Workspace();
+        workspace.setId(2L);
+        workspace.setCoworking(coworking);
+        Reservation managed = new Reservation();
+        managed.setId(reservationId);
+        managed.setWorkspace(workspace);
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(managed));
+
+        // Act
+        reservationService.deleteReservation(reservationId);
+
+        // Assert
+        verify(reservationRepository, times(1)).delete(managed);
+        verify(reservationCache, times(1)).remove(reservationId);
+        ArgumentCaptor<ReservationChangedEvent> event =
+                ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(3L, event.getValue().changes().get(0).coworkingId());
+    }
+
+    @Test
+    void expireHolds_WhenHoldConfirmedBeforeDelete_ShouldNotEvictOrPublish() {
+        // Arrange
+        when(reservationJdbcRepository.deleteExpiredHolds(eq(List.of(1L)), any()))
+                .thenReturn(List.of());
+
+        // Act
+        List<Long> expired = reservationService.expireHolds(List.of(1L));
+
+        // Assert
+        assertTrue(expired.isEmpty());
+        verifyNoInteractions(reservationCache, eventPublisher);
+        verify(reservationRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void expireHolds_WhenHoldsDeleted_ShouldPublishReturnedRows() {
+        // Arrange
+        LocalDate day = LocalDate.now().plusDays(1);
+        ReservationChange deleted = new ReservationChange(ReservationChange.Type.DELETED,
+                2L, 5L, 3L, 4L, day, day, ReservationStatus.HOLD, null, null);
+        when(reservationJdbcRepository.deleteExpiredHolds(eq(List.of(1L, 2L)), any()))
+                .thenReturn(List.of(deleted));
+
+        // Act
+        List<Long> expired = reservationService.expireHolds(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(List.of(2L), expired);
+        verify(reservationCache).remove(2L);
+        verify(reservationCache, never()).remove(1L);
+        verify(eventPublisher).publishEvent(new ReservationChangedEvent(List.of(deleted)));
+    }
+
     @Test
     void createReservation_WhenOneDayReservation_ShouldCreateSuccessfully() {
         // Arrange
@@ -462,8 +647,8 @@ class ReservationServiceTest {
 
         when(workspaceRepository.findById(workspaceId)).thenReturn(Optional.of(workspace));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(reservationRepository.findOverlappingReservations(eq(workspaceId), any(), any()))
-                .thenReturn(Arrays.asList());
+        when(reservationRepository.countOverlappingReservations(eq(workspaceId), any(), any(), isNull()))
+                .thenReturn(0L);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
         // Act
@@ -493,8 +678,8 @@ class ReservationServiceTest {
 
         when(workspaceRepository.findById(workspaceId)).thenReturn(Optional.of(workspace));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(reservationRepository.findOverlappingReservations(eq(workspaceId), any(), any()))
-                .thenReturn(Arrays.asList());
+        when(reservationRepository.countOverlappingReservations(eq(workspaceId), any(), any(), isNull()))
+                .thenReturn(0L);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
         // Act
@@ -523,11 +708,10 @@ class ReservationServiceTest {
         reservation.setStartDate(LocalDate.now().plusDays(1));
         reservation.setEndDate(LocalDate.now().plusDays(3));
 
-        Reservation existingReservation = new Reservation();
         when(workspaceRepository.findById(workspaceId)).thenReturn(Optional.of(workspace));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(reservationRepository.findOverlappingReservations(eq(workspaceId), any(), any()))
-                .thenReturn(Arrays.asList(existingReservation)); // 1 существующее, capacity=3
+        when(reservationRepository.countOverlappingReservations(eq(workspaceId), any(), any(), isNull()))
+                .thenReturn(1L); // 1 существующее, capacity=3
 
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
@@ -1,15 +1,21 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.UserCache;
+import com.app.coworking.dto.KeysetPage;
+import com.app.coworking.dto.UserView;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
 import com.app.coworking.model.Reservation;
 import com.app.coworking.model.User;
 import com.app.coworking.model.enums.Role;
+import com.app.coworking.repository.RecurringReservationRepository;
+import com.app.coworking.repository.ReservationRepository;
 import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WaitlistEntryRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -32,9 +38,37 @@ class UserServiceTest {
     @Mock
     private UserCache userCache;
 
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private RecurringReservationRepository recurringReservationRepository;
+
     @InjectMocks
     private UserService userService;
 
+    @Test
+    void getUsersPage_WhenMoreRowsThanPageSize_ShouldReturnViewsAndCursor() {
+        // Arrange
+        UserView first = new UserView(1L, "a@test.com", "Ann", "Lee", Role.USER);
+        UserView second = new UserView(2L, "b@test.com", "Bob", "Ray", Role.ADMIN);
+        UserView extra = new UserView(3L, "c@test.com", "Cid", "Fox", Role.USER);
+        when(userRepository.findViewsAfter(eq(0L), any()))
+                .thenReturn(List.of(first, second, extra));
+
+        // Act
+        KeysetPage<UserView> page = userService.getUsersPage(null, 2);
+
+        // Assert
+        assertEquals(List.of(first, second), page.items());
+        Long lastId = KeysetPaging.decode(page.nextCursor(), parts -> Long.valueOf(parts[0]));
+        assertEquals(2L, lastId);
+        verify(userRepository, never()).findAll();
+    }
+
     @Test
     void getUserById_WhenExistsInCache_ShouldReturnCachedUser() {
         // Arrange
@@ -283,17 +317,15 @@ class UserServiceTest {
     void deleteUser_WhenNoReservations_ShouldDeleteAndRemoveFromCache() {
         // Arrange
         Long id = 1L;
-        User existing = new User();
-        existing.setId(id);
-        existing.setReservations(new HashSet<>());
-
-        when(userCache.get(id)).thenReturn(existing);
+        when(reservationRepository.existsByUserId(id)).thenReturn(false);
+        when(userRepository.deleteRowById(id)).thenReturn(1);
 
         // Act
         userService.deleteUser(id);
 
         // Assert
-        verify(userRepository, times(1)).delete(existing);
+        verify(userRepository, times(1)).deleteRowById(id);
+        verify(userRepository, never()).findById(any());
         verify(userCache, times(1)).remove(id);
     }
 
@@ -301,27 +333,58 @@ class UserServiceTest {
     void deleteUser_WhenHasReservations_ShouldThrowInvalidArgumentException() {
         // Arrange
         Long id = 1L;
-        User existing = new User();
-        existing.setId(id);
-        existing.setReservations(new HashSet<>(Arrays.asList(new Reservation())));
-
-        when(userCache.get(id)).thenReturn(existing);
+        when(reservationRepository.existsByUserId(id)).thenReturn(true);
 
         // Act & Assert
         assertThrows(InvalidArgumentException.class, () -> userService.deleteUser(id));
-        verify(userRepository, never()).delete(any());
+        verify(userRepository, never()).deleteRowById(any());
+        verifyNoInteractions(waitlistEntryRepository, recurringReservationRepository);
     }
 
     @Test
     void deleteUser_WhenUserNotFound_ShouldThrowResourceNotFoundException() {
         // Arrange
         Long id = 999L;
-        when(userCache.get(id)).thenReturn(null);
-        when(userRepository.findById(id)).thenReturn(Optional.empty());
+        when(reservationRepository.existsByUserId(id)).thenReturn(false);
+        when(userRepository.deleteRowById(id)).thenReturn(0);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(id));
-        verify(userRepository, never()).delete(any());
+        verify(userCache, never()).remove(any());
+    }
+
+    @Test
+    void deleteUser_WhenWaitlistEntriesExist_ShouldDeleteThemFirst() {
+        // Arrange
+        Long id = 1L;
+        when(reservationRepository.existsByUserId(id)).thenReturn(false);
+        when(waitlistEntryRepository.deleteByUserId(id)).thenReturn(2);
+        when(userRepository.deleteRowById(id)).thenReturn(1);
+
+        // Act
+        userService.deleteUser(id);
+
+        // Assert
+        InOrder order = inOrder(waitlistEntryRepository, userRepository);
+        order.verify(waitlistEntryRepository).deleteByUserId(id);
+        order.verify(userRepository).deleteRowById(id);
+    }
+
+    @Test
+    void deleteUser_WhenEmptyRecurringSeriesExist_ShouldDeleteThemFirst() {
+        // Arrange
+        Long id = 1L;
+        when(reservationRepository.existsByUserId(id)).thenReturn(false);
+        when(recurringReservationRepository.deleteEmptyByUserId(id)).thenReturn(2);
+        when(userRepository.deleteRowById(id)).thenReturn(1);
+
+        // Act
+        userService.deleteUser(id);
+
+        // Assert
+        InOrder order = inOrder(recurringReservationRepository, userRepository);
+        order.verify(recurringReservationRepository).deleteEmptyByUserId(id);
+        order.verify(userRepository).deleteRowById(id);
     }
 
     @Test
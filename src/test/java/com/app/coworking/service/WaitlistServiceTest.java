@@ -0,0 +1,172 @@
+package com.app.coworking.service;
+
+import com.app.coworking.exception.InvalidArgumentException;
+import com.app.coworking.exception.ResourceNotFoundException;
+import com.app.coworking.model.Reservation;
+import com.app.coworking.model.User;
+import com.app.coworking.model.WaitlistEntry;
+import com.app.coworking.model.Workspace;
+import com.app.coworking.model.enums.WaitlistStatus;
+import com.app.coworking.model.enums.WorkspaceType;
+import com.app.coworking.repository.UserRepository;
+import com.app.coworking.repository.WaitlistEntryRepository;
+import com.app.coworking.repository.WorkspaceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private static Workspace meetingRoom() {
+        Workspace workspace = new Workspace();
+        workspace.setId(1L);
+        workspace.setType(WorkspaceType.MEETING_ROOM);
+        workspace.setCapacity(1);
+        return workspace;
+    }
+
+    private static WaitlistEntry entry(Long id, Long userId, LocalDate start) {
+        User user = new User();
+        user.setId(userId);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setUser(user);
+        entry.setStartDate(start);
+        entry.setEndDate(start);
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(Instant.now());
+        return entry;
+    }
+
+    @Test
+    void enqueue_WhenWorkspaceIsBusy_ShouldSaveWaitingEntry() {
+        // Arrange
+        Workspace workspace = meetingRoom();
+        User user = new User();
+        user.setId(2L);
+        Reservation request = new Reservation();
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(2));
+
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+        when(reservationService.isAvailable(eq(workspace), any(), any())).thenReturn(false);
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        WaitlistEntry result = waitlistService.enqueue(1L, 2L, request);
+
+        // Assert
+        assertEquals(WaitlistStatus.WAITING, result.getStatus());
+        assertEquals(workspace, result.getWorkspace());
+        assertNotNull(result.getCreatedAt());
+        verify(waitlistEntryRepository, times(1)).save(result);
+    }
+
+    @Test
+    void enqueue_WhenWorkspaceIsAvailable_ShouldThrowInvalidArgumentException() {
+        // Arrange
+        Workspace workspace = meetingRoom();
+        Reservation request = new Reservation();
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(2));
+
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(new User()));
+        when(reservationService.isAvailable(eq(workspace), any(), any())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidArgumentException.class,
+                () -> waitlistService.enqueue(1L, 2L, request));
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void enqueue_WhenWorkspaceNotFound_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        Reservation request = new Reservation();
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(1));
+        when(workspaceRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> waitlistService.enqueue(999L, 2L, request));
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void promoteWaiters_ShouldPromoteInFifoOrderWhileCapacityAllows() {
+        // Arrange
+        Workspace workspace = meetingRoom();
+        LocalDate day = LocalDate.now().plusDays(3);
+        WaitlistEntry first = entry(10L, 2L, day);
+        WaitlistEntry second = entry(11L, 3L, day);
+        Reservation created = new Reservation();
+        created.setId(100L);
+
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(waitlistEntryRepository.findOverlappingByStatus(1L, WaitlistStatus.WAITING, day, day))
+                .thenReturn(List.of(first, second));
+        when(reservationService.isAvailable(workspace, day, day)).thenReturn(true, false);
+        when(reservationService.createReservation(eq(1L), eq(2L), any())).thenReturn(created);
+
+        // Act
+        List<Long> promoted = waitlistService.promoteWaiters(1L, day, day);
+
+        // Assert
+        assertEquals(List.of(10L), promoted);
+        assertEquals(WaitlistStatus.PROMOTED, first.getStatus());
+        assertEquals(100L, first.getReservationId());
+        assertEquals(WaitlistStatus.WAITING, second.getStatus());
+        verify(reservationService, never()).createReservation(eq(1L), eq(3L), any());
+    }
+
+    @Test
+    void promoteWaiters_WhenEntryStartIsInPast_ShouldExpireIt() {
+        // Arrange
+        Workspace workspace = meetingRoom();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        WaitlistEntry stale = entry(10L, 2L, yesterday);
+
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(waitlistEntryRepository.findOverlappingByStatus(eq(1L), eq(WaitlistStatus.WAITING),
+                any(), any())).thenReturn(List.of(stale));
+
+        // Act
+        List<Long> promoted = waitlistService.promoteWaiters(1L, yesterday, yesterday);
+
+        // Assert
+        assertTrue(promoted.isEmpty());
+        assertEquals(WaitlistStatus.EXPIRED, stale.getStatus());
+        verify(reservationService, never()).createReservation(any(), any(), any());
+    }
+}
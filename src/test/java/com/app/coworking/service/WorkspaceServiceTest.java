@@ -2,6 +2,7 @@
 package com.app.coworking.service;
 
 import com.app.coworking.cache.WorkspaceCache;
+import com.app.coworking.event.CatalogChangedEvent;
 import com.app.coworking.exception.AlreadyExistsException;
 import com.app.coworking.exception.InvalidArgumentException;
 import com.app.coworking.exception.ResourceNotFoundException;
@@ -10,12 +11,18 @@ import com.app.coworking.model.Reservation;
 import com.app.coworking.model.Workspace;
 import com.app.coworking.model.enums.WorkspaceType;
 import com.app.coworking.repository.CoworkingRepository;
+import com.app.coworking.repository.DailyOccupancyRepository;
+import com.app.coworking.repository.RecurringReservationRepository;
+import com.app.coworking.repository.ReservationRepository;
+import com.app.coworking.repository.WaitlistEntryRepository;
 import com.app.coworking.repository.WorkspaceRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -38,6 +45,21 @@ class WorkspaceServiceTest {
     @Mock
     private WorkspaceCache workspaceCache;
 
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private DailyOccupancyRepository dailyOccupancyRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private RecurringReservationRepository recurringReservationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private WorkspaceService workspaceService;
 
@@ -92,22 +114,6 @@ class WorkspaceServiceTest {
         verify(workspaceRepository, times(1)).findById(id);
     }
 
-    @Test
-    void getAllWorkspaces_ShouldReturnList() {
-        // Arrange
-        Workspace workspace1 = new Workspace();
-        Workspace workspace2 = new Workspace();
-        List<Workspace> expectedList = Arrays.asList(workspace1, workspace2);
-        when(workspaceRepository.findAll()).thenReturn(expectedList);
-
-        // Act
-        List<Workspace> result = workspaceService.getAllWorkspaces();
-
-        // Assert
-        assertEquals(2, result.size());
-        verify(workspaceRepository, times(1)).findAll();
-    }
-
     @Test
     void createWorkspace_WhenValidData_ShouldSaveAndCache() {
         // Arrange
@@ -122,7 +128,11 @@ class WorkspaceServiceTest {
 
         when(coworkingRepository.findById(coworkingId)).thenReturn(Optional.of(coworking));
         when(workspaceRepository.existsByNameAndCoworkingId(workspace.getName(), coworkingId)).thenReturn(false);
-        when(workspaceRepository.save(any(Workspace.class))).thenReturn(workspace);
+        when(workspaceRepository.save(any(Workspace.class))).thenAnswer(invocation -> {
+            Workspace saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
 
         // Act
         Workspace result = workspaceService.createWorkspace(coworkingId, workspace);
@@ -206,18 +216,56 @@ class WorkspaceServiceTest {
         workspace2.setName("Workspace 2");
 
         List<Workspace> workspaces = Arrays.asList(workspace1, workspace2);
+        // id назначает saveAll
+        workspace1.setId(11L);
+        workspace2.setId(12L);
 
         when(coworkingRepository.findById(coworkingId)).thenReturn(Optional.of(new Coworking()));
-        when(workspaceRepository.existsByNameAndCoworkingId(anyString(), eq(coworkingId))).thenReturn(false);
-        when(workspaceRepository.save(any(Workspace.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(workspaceRepository.findExistingNames(eq(coworkingId), anyCollection())).thenReturn(List.of());
+        when(workspaceRepository.saveAll(workspaces)).thenReturn(workspaces);
 
         // Act
         List<Workspace> result = workspaceService.createWorkspacesBulk(coworkingId, workspaces);
 
         // Assert
         assertEquals(2, result.size());
-        verify(workspaceRepository, times(2)).save(any(Workspace.class));
+        verify(coworkingRepository, times(1)).findById(coworkingId);
+        verify(workspaceRepository, times(1)).saveAll(workspaces);
+        verify(workspaceRepository, never()).existsByNameAndCoworkingId(anyString(), anyLong());
         verify(workspaceCache, times(2)).put(any(), any());
+        verify(eventPublisher).publishEvent(
+                CatalogChangedEvent.workspaces(coworkingId, List.of(11L, 12L)));
+    }
+
+    @Test
+    void createWorkspacesBulk_WhenNamesRepeatInPayload_ShouldThrowAlreadyExists() {
+        // Arrange
+        Workspace workspace1 = new Workspace();
+        workspace1.setName("Desk");
+        Workspace workspace2 = new Workspace();
+        workspace2.setName("Desk");
+
+        // Act & Assert
+        assertThrows(AlreadyExistsException.class,
+                () -> workspaceService.createWorkspacesBulk(1L, List.of(workspace1, workspace2)));
+        verifyNoInteractions(workspaceRepository);
+    }
+
+    @Test
+    void createWorkspacesBulk_WhenNameExistsInCoworking_ShouldThrowAlreadyExists() {
+        // Arrange
+        Long coworkingId = 1L;
+        Workspace workspace = new Workspace();
+        workspace.setName("Desk");
+
+        when(coworkingRepository.findById(coworkingId)).thenReturn(Optional.of(new Coworking()));
+        when(workspaceRepository.findExistingNames(eq(coworkingId), anyCollection()))
+                .thenReturn(List.of("Desk"));
+
+        // Act & Assert
+        assertThrows(AlreadyExistsException.class,
+                () -> workspaceService.createWorkspacesBulk(coworkingId, List.of(workspace)));
+        verify(workspaceRepository, never()).saveAll(any());
     }
 
     @Test
@@ -338,44 +386,96 @@ class WorkspaceServiceTest {
     void deleteWorkspace_WhenNoReservations_ShouldDeleteAndRemoveFromCache() {
         // Arrange
         Long id = 1L;
-        Workspace existing = new Workspace();
-        existing.setId(id);
-        existing.setReservations(new HashSet<>());
-
-        when(workspaceCache.get(id)).thenReturn(existing);
+        when(reservationRepository.existsByWorkspaceId(id)).thenReturn(false);
+        when(workspaceRepository.findCoworkingIds(List.of(id))).thenReturn(List.of(7L));
+        when(workspaceRepository.deleteRowById(id)).thenReturn(1);
 
         // Act
         workspaceService.deleteWorkspace(id);
 
         // Assert
-        verify(workspaceRepository, times(1)).delete(existing);
+        verify(workspaceRepository, times(1)).deleteRowById(id);
+        verify(workspaceRepository, never()).findById(any());
         verify(workspaceCache, times(1)).remove(id);
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.workspaces(7L, List.of(id)));
     }
 
     @Test
     void deleteWorkspace_WhenHasReservations_ShouldThrowInvalidArgumentException() {
         // Arrange
         Long id = 1L;
-        Workspace existing = new Workspace();
-        existing.setId(id);
-        existing.setReservations(new HashSet<>(Arrays.asList(new Reservation())));
-
-        when(workspaceCache.get(id)).thenReturn(existing);
+        when(reservationRepository.existsByWorkspaceId(id)).thenReturn(true);
 
         // Act & Assert
         assertThrows(InvalidArgumentException.class, () -> workspaceService.deleteWorkspace(id));
-        verify(workspaceRepository, never()).delete(any());
+        verify(workspaceRepository, never()).deleteRowById(any());
+        verifyNoInteractions(dailyOccupancyRepository, waitlistEntryRepository,
+                recurringReservationRepository);
     }
 
     @Test
     void deleteWorkspace_WhenWorkspaceNotFound_ShouldThrowResourceNotFoundException() {
         // Arrange
         Long id = 999L;
-        when(workspaceCache.get(id)).thenReturn(null);
-        when(workspaceRepository.findById(id)).thenReturn(Optional.empty());
+        when(reservationRepository.existsByWorkspaceId(id)).thenReturn(false);
+        when(workspaceRepository.findCoworkingIds(List.of(id))).thenReturn(List.of());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> workspaceService.deleteWorkspace(id));
-        verify(workspaceRepository, never()).delete(any());
+        verify(workspaceCache, never()).remove(any());
+    }
+
+    @Test
+    void deleteWorkspace_WhenOnlyOccupancyHistoryLeft_ShouldDeleteRollupRowsFirst() {
+        // Arrange
+        Long id = 1L;
+        when(reservationRepository.existsByWorkspaceId(id)).thenReturn(false);
+        when(workspaceRepository.findCoworkingIds(List.of(id))).thenReturn(List.of(7L));
+        when(dailyOccupancyRepository.deleteByWorkspaceId(id)).thenReturn(3);
+        when(workspaceRepository.deleteRowById(id)).thenReturn(1);
+
+        // Act
+        workspaceService.deleteWorkspace(id);
+
+        // Assert
+        InOrder order = inOrder(dailyOccupancyRepository, workspaceRepository);
+        order.verify(dailyOccupancyRepository).deleteByWorkspaceId(id);
+        order.verify(workspaceRepository).deleteRowById(id);
+    }
+
+    @Test
+    void deleteWorkspace_WhenWaitlistEntriesExist_ShouldDeleteThemFirst() {
+        // Arrange
+        Long id = 1L;
+        when(reservationRepository.existsByWorkspaceId(id)).thenReturn(false);
+        when(workspaceRepository.findCoworkingIds(List.of(id))).thenReturn(List.of(7L));
+        when(waitlistEntryRepository.deleteByWorkspaceId(id)).thenReturn(3);
+        when(workspaceRepository.deleteRowById(id)).thenReturn(1);
+
+        // Act
+        workspaceService.deleteWorkspace(id);
+
+        // Assert
+        InOrder order = inOrder(waitlistEntryRepository, workspaceRepository);
+        order.verify(waitlistEntryRepository).deleteByWorkspaceId(id);
+        order.verify(workspaceRepository).deleteRowById(id);
+    }
+
+    @Test
+    void deleteWorkspace_WhenEmptyRecurringSeriesExist_ShouldDeleteThemFirst() {
+        // Arrange
+        Long id = 1L;
+        when(reservationRepository.existsByWorkspaceId(id)).thenReturn(false);
+        when(workspaceRepository.findCoworkingIds(List.of(id))).thenReturn(List.of(7L));
+        when(recurringReservationRepository.deleteEmptyByWorkspaceId(id)).thenReturn(3);
+        when(workspaceRepository.deleteRowById(id)).thenReturn(1);
+
+        // Act
+        workspaceService.deleteWorkspace(id);
+
+        // Assert
+        InOrder order = inOrder(recurringReservationRepository, workspaceRepository);
+        order.verify(recurringReservationRepository).deleteEmptyByWorkspaceId(id);
+        order.verify(workspaceRepository).deleteRowById(id);
     }
-}
\ No newline at end of file
+}